@@ -0,0 +1,44 @@
+package de.saxsys.javafx.test;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runners.model.InitializationError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Startup latency of a fresh JVM with and without a class data sharing archive of the classes which {@link JfxWarmup}
+ * loads. The archive has to be dumped with the classpath of the forks before (Java 13+), the <code>appcds</code>
+ * profile does this:
+ * 
+ * <pre>
+ * mvn package -Pappcds -Dappcds.options=-Djfxrunner.headless=true
+ * java -jar target/benchmarks.jar AppCdsBootBenchmark -jvmArgsPrepend -Djfxrunner.headless=true
+ * </pre>
+ * 
+ * The forks with the archive use <code>-Xshare:on</code>, so they fail instead of measuring without the archive if it
+ * is missing or does not match the classpath.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class AppCdsBootBenchmark {
+	
+	@Benchmark
+	@Fork(10)
+	public void withoutArchive() throws InitializationError {
+		SingleJfxApplication.startJavaFx();
+	}
+	
+	@Benchmark
+	@Fork(value = 10, jvmArgsAppend = { "-Xshare:on", "-XX:SharedArchiveFile=target/jfx-boot.jsa" })
+	public void withArchive() throws InitializationError {
+		SingleJfxApplication.startJavaFx();
+	}
+}
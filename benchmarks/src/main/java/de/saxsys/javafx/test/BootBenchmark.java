@@ -0,0 +1,48 @@
+package de.saxsys.javafx.test;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runners.model.InitializationError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Startup latency and resident set size of a fresh JVM for the windowed and the headless boot mode of
+ * {@link SingleJfxApplication}. Every fork starts the toolkit exactly once and prints its resident set size.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class BootBenchmark {
+	
+	@Param({ "windowed", "headless" })
+	public String mode;
+	
+	/**
+	 * Prints the resident set size of the fork after the toolkit is started. It is a gauge, which the aux counters of
+	 * JMH can not report: they sum up events over the iterations or normalize them per operation.
+	 */
+	@TearDown(Level.Trial)
+	public void printResidentSetSize() {
+		long rssBytes = JfxBootMetrics.getResidentSetSize();
+		System.out.println("rssBytes (" + mode + "): " + (rssBytes < 0 ? "n/a" : Long.toString(rssBytes)));
+	}
+	
+	@Benchmark
+	public void startJavaFx() throws InitializationError {
+		SingleJfxApplication.startJavaFx("headless".equals(mode));
+	}
+}
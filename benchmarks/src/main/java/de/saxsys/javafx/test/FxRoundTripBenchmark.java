@@ -0,0 +1,43 @@
+package de.saxsys.javafx.test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
+
+import org.junit.runners.model.InitializationError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of a {@link Platform#runLater(Runnable)} round trip from a foreign thread, which is the primitive behind every
+ * delegate of the ServiceWrapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FxRoundTripBenchmark {
+	
+	@Setup
+	public void startJavaFx() throws InitializationError {
+		SingleJfxApplication.startJavaFx();
+	}
+	
+	@Benchmark
+	public Boolean runLaterRoundTrip() throws Exception {
+		CompletableFuture<Boolean> called = new CompletableFuture<>();
+		Platform.runLater(() -> called.complete(Boolean.TRUE));
+		return called.get();
+	}
+}
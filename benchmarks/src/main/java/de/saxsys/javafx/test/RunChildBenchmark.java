@@ -0,0 +1,77 @@
+package de.saxsys.javafx.test;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per test dispatch overhead of {@link JfxRunner#runChild(FrameworkMethod, RunNotifier)} for an empty test method in
+ * the caller thread and in the JavaFX-thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RunChildBenchmark {
+	
+	/**
+	 * Test class which is dispatched by the benchmark.
+	 */
+	public static class DispatchTarget {
+		
+		@Test
+		public void inCallerThread() {
+		}
+		
+		@Test
+		@TestInJfxThread
+		public void inFxThread() {
+		}
+	}
+	
+	private JfxRunner runner;
+	
+	private FrameworkMethod callerThreadMethod;
+	
+	private FrameworkMethod fxThreadMethod;
+	
+	private RunNotifier notifier;
+	
+	@Setup
+	public void createRunner() throws InitializationError {
+		runner = new JfxRunner(DispatchTarget.class);
+		for (FrameworkMethod method : runner.getTestClass().getAnnotatedMethods(Test.class)) {
+			if (method.getAnnotation(TestInJfxThread.class) != null) {
+				fxThreadMethod = method;
+			} else {
+				callerThreadMethod = method;
+			}
+		}
+		notifier = new RunNotifier();
+	}
+	
+	@Benchmark
+	public void runChildInCallerThread() {
+		runner.runChild(callerThreadMethod, notifier);
+	}
+	
+	@Benchmark
+	public void runChildInFxThread() {
+		runner.runChild(fxThreadMethod, notifier);
+	}
+}
@@ -0,0 +1,100 @@
+package de.saxsys.javafx.test.service;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker.State;
+
+import org.junit.runners.model.InitializationError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.saxsys.javafx.test.SingleJfxApplication;
+
+/**
+ * Latency of {@link ServiceWrapper#startAndWait(long)} and {@link ServiceWrapper#startAndWaitForValue} against a
+ * Service whose task returns immediately, and the cost of a {@link ServiceMock}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceWrapperBenchmark {
+	
+	/**
+	 * Service with a trivial task.
+	 */
+	public static class TrivialService extends Service<String> {
+		
+		@Override
+		protected Task<String> createTask() {
+			return new Task<String>() {
+				@Override
+				protected String call() throws Exception {
+					return "result";
+				}
+			};
+		}
+	}
+	
+	/**
+	 * Wrapped Service which is only read by the benchmarks.
+	 */
+	@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+	public static class WrappedService {
+		
+		TrivialService service;
+		
+		ServiceWrapper wrapper;
+		
+		@Setup
+		public void createWrapper() throws InitializationError {
+			SingleJfxApplication.startJavaFx();
+			service = new TrivialService();
+			wrapper = new ServiceWrapper(service);
+		}
+	}
+	
+	/**
+	 * Wrapped Service which is started by the benchmarks, so it is reset before every invocation. The start takes a
+	 * round trip to the UI-Thread and a worker thread, which is long enough for a setup per invocation.
+	 */
+	@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+	public static class StartedService extends WrappedService {
+		
+		@Setup(Level.Invocation)
+		public void reset() {
+			wrapper.reset();
+		}
+	}
+	
+	@Benchmark
+	public void startAndWait(StartedService state) throws Exception {
+		state.wrapper.startAndWait(5000);
+	}
+	
+	@Benchmark
+	public void startAndWaitForValue(StartedService state) throws Exception {
+		state.wrapper.startAndWaitForValue(state.service::stateProperty, State.SUCCEEDED, 5);
+	}
+	
+	@Benchmark
+	public ServiceMock<String> createServiceMock(WrappedService state) {
+		return new ServiceMock<>(state.service);
+	}
+	
+	@Benchmark
+	public ServiceMock<?> snapshot(WrappedService state) {
+		return state.wrapper.snapshot();
+	}
+}
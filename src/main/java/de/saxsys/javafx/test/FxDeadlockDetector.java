@@ -0,0 +1,76 @@
+package de.saxsys.javafx.test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+
+import org.junit.runner.Description;
+
+/**
+ * Finds the reasons why the JavaFX-thread can't process the work a thread waits for: a lock of the waiting thread
+ * which the JavaFX-thread needs, a deadlock of the JavaFX-thread with other threads or a timed out test which still
+ * blocks the JavaFX-thread.
+ */
+final class FxDeadlockDetector {
+	
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+	
+	private FxDeadlockDetector() {
+	}
+	
+	/**
+	 * @param waiting
+	 *            the thread which waits for the JavaFX-thread
+	 * @return the reason why the JavaFX-thread will never process the work or <code>null</code> if there is none
+	 */
+	static String diagnose(Thread waiting) {
+		Description blockingTest = FxWatchdog.getBlockingTest();
+		if (blockingTest != null) {
+			return "The JavaFX-thread is still blocked by the timed out test " + blockingTest.getDisplayName();
+		}
+		
+		Thread fxThread = SingleJfxApplication.getFxThread();
+		if (fxThread == null) {
+			return null;
+		}
+		ThreadInfo fxInfo = THREADS.getThreadInfo(fxThread.getId());
+		if (fxInfo == null) {
+			return "The JavaFX-thread is terminated";
+		}
+		if (fxInfo.getLockOwnerId() == waiting.getId()) {
+			return String.format("Deadlock: the JavaFX-thread waits for %s, which is held by %s", fxInfo.getLockName(),
+					waiting.getName());
+		}
+		
+		long[] deadlocked = THREADS.isSynchronizerUsageSupported() ? THREADS.findDeadlockedThreads() : THREADS
+				.findMonitorDeadlockedThreads();
+		if (deadlocked != null) {
+			for (long id : deadlocked) {
+				if (id == fxThread.getId()) {
+					return String.format("Deadlock: the JavaFX-thread waits for %s, which is held by %s",
+							fxInfo.getLockName(), fxInfo.getLockOwnerName());
+				}
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * @return an exception with the message, caused by the current stack of the JavaFX-thread
+	 */
+	static IllegalStateException fxThreadException(String message) {
+		return new IllegalStateException(message, fxThreadStack());
+	}
+	
+	/**
+	 * @return an exception with the current stack of the JavaFX-thread
+	 */
+	static Exception fxThreadStack() {
+		Exception fxStack = new Exception("Stack of the JavaFX-thread");
+		Thread fxThread = SingleJfxApplication.getFxThread();
+		if (fxThread != null) {
+			fxStack.setStackTrace(fxThread.getStackTrace());
+		}
+		return fxStack;
+	}
+}
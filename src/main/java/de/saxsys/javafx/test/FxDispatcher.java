@@ -0,0 +1,192 @@
+package de.saxsys.javafx.test;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javafx.application.Platform;
+
+/**
+ * The single point through which the {@link JfxRunner} and the ServiceWrapper submit work to the JavaFX-thread. If
+ * the {@link FxQueueStatistics} are enabled, the queue-wait and run time of every submission is recorded for the
+ * running test. The run time is also recorded for a test with a {@link MaxFxThreadTime}. In these cases and if the
+ * {@link LeakTracker} is enabled, the work runs in the context of the test which submitted it.
+ * 
+ * Calls which wait for the JavaFX-thread run directly when they are made in the JavaFX-thread. Otherwise a thread
+ * which waited longer than the system property {@value #DIAGNOSIS_DELAY_PROPERTY} (in milliseconds, default 1000)
+ * checks in this interval whether the JavaFX-thread can still process the call (see {@link FxDeadlockDetector}) and
+ * fails instead of hanging, if not or if the timeout of the system property {@value #TIMEOUT_PROPERTY} (in
+ * milliseconds, default 0, which waits forever) elapsed.
+ */
+public final class FxDispatcher {
+	
+	/** System property which defines how long a thread waits for the JavaFX-thread in milliseconds. */
+	public static final String TIMEOUT_PROPERTY = "jfxrunner.fxCall.timeout";
+	
+	static final long TIMEOUT = Long.getLong(TIMEOUT_PROPERTY, 0);
+	
+	/** System property which defines after how many milliseconds a waiting thread looks for deadlocks. */
+	public static final String DIAGNOSIS_DELAY_PROPERTY = "jfxrunner.fxCall.diagnosisDelay";
+	
+	private static final long DIAGNOSIS_DELAY = Math.max(1, Long.getLong(DIAGNOSIS_DELAY_PROPERTY, 1000));
+	
+	private FxDispatcher() {
+	}
+	
+	/**
+	 * Calls the callable in the JavaFX-thread and waits for its result. In the JavaFX-thread it is called directly.
+	 * 
+	 * @param callable
+	 *            to call in the JavaFX-thread
+	 * @return the result of the callable
+	 * @throws Exception
+	 *             the exception of the callable
+	 * @throws IllegalStateException
+	 *             if the JavaFX-thread is deadlocked, blocked by a timed out test or did not call the callable in time
+	 */
+	public static <T> T call(Callable<T> callable) throws Exception {
+		if (Platform.isFxApplicationThread()) {
+			return callable.call();
+		}
+		
+		CompletableFuture<T> result = callAsync(callable);
+		try {
+			return await(result);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception) {
+				throw (Exception) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new UndeclaredThrowableException(cause);
+		}
+	}
+	
+	/**
+	 * Calls the callable in the JavaFX-thread without waiting for it. In the JavaFX-thread it is called directly.
+	 * 
+	 * @param callable
+	 *            to call in the JavaFX-thread
+	 * @return a future which is completed with the result or the exception of the callable
+	 */
+	public static <T> CompletableFuture<T> callAsync(Callable<T> callable) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		if (Platform.isFxApplicationThread()) {
+			complete(result, callable);
+		} else {
+			runLater(() -> complete(result, callable));
+		}
+		return result;
+	}
+	
+	private static <T> void complete(CompletableFuture<T> result, Callable<T> callable) {
+		try {
+			result.complete(callable.call());
+		} catch (Throwable e) {
+			result.completeExceptionally(e);
+		}
+	}
+	
+	/**
+	 * Waits for work which was submitted to the JavaFX-thread.
+	 * 
+	 * @param future
+	 *            which is completed by the JavaFX-thread
+	 * @return the result of the future
+	 * @throws IllegalStateException
+	 *             if the JavaFX-thread is deadlocked, blocked by a timed out test or did not complete the future in
+	 *             time
+	 */
+	public static <T> T await(Future<T> future) throws InterruptedException, ExecutionException {
+		if (Platform.isFxApplicationThread() && !future.isDone()) {
+			throw FxDeadlockDetector.fxThreadException(
+					"The JavaFX-thread can't wait for work which has to be done in the JavaFX-thread");
+		}
+		
+		long start = System.nanoTime();
+		while (true) {
+			long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			long wait = DIAGNOSIS_DELAY;
+			if (TIMEOUT > 0) {
+				wait = Math.max(1, Math.min(wait, TIMEOUT - waited));
+			}
+			try {
+				return future.get(wait, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				// the JavaFX-thread is only inspected when the call takes longer than usual
+				String reason = FxDeadlockDetector.diagnose(Thread.currentThread());
+				if (reason != null) {
+					throw FxDeadlockDetector.fxThreadException(reason);
+				}
+				waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+				if (TIMEOUT > 0 && waited >= TIMEOUT) {
+					throw FxDeadlockDetector.fxThreadException(String.format(
+							"The JavaFX-thread did not process the call within %d ms", waited));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Waits until the JavaFX-thread processed the work which was submitted before, at most for the given time. Returns
+	 * immediately in the JavaFX-thread.
+	 * 
+	 * @param timeoutInMillis
+	 *            how long to wait at most
+	 */
+	static void flush(long timeoutInMillis) {
+		if (Platform.isFxApplicationThread()) {
+			return;
+		}
+		CountDownLatch flushed = new CountDownLatch(1);
+		runLater(flushed::countDown);
+		try {
+			flushed.await(timeoutInMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Submits the runnable to the JavaFX-thread like {@link Platform#runLater(Runnable)}.
+	 * 
+	 * @param runnable
+	 *            to run in the JavaFX-thread
+	 */
+	public static void runLater(Runnable runnable) {
+		RunningTest test = RunningTest.current();
+		boolean measured = test != null && test.isMeasuringFxThreadTime();
+		if (!FxQueueStatistics.ENABLED && !LeakTracker.ENABLED && !measured) {
+			Platform.runLater(runnable);
+			return;
+		}
+		
+		long submitted = System.nanoTime();
+		Platform.runLater(() -> {
+			long started = System.nanoTime();
+			// the work runs in the context of the test which submitted it
+			RunningTest previous = test != null ? test.enter() : RunningTest.current();
+			try {
+				runnable.run();
+			} finally {
+				RunningTest.restore(previous);
+				long finished = System.nanoTime();
+				if (measured) {
+					test.recordFxThreadTime(finished - started);
+				}
+				if (FxQueueStatistics.ENABLED && test != null) {
+					test.recordFxQueue(submitted, started, finished);
+				} else if (FxQueueStatistics.ENABLED) {
+					FxQueueStatistics.getOutsideOfTests().record(submitted, started, finished);
+				}
+			}
+		});
+	}
+}
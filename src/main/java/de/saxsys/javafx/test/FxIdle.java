@@ -0,0 +1,58 @@
+package de.saxsys.javafx.test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+/**
+ * Waits until the JavaFX-thread is idle, instead of a fixed <code>Thread.sleep</code> after changes of the scene graph
+ * or calls of the ServiceWrapper.
+ */
+public final class FxIdle {
+	
+	private FxIdle() {
+	}
+	
+	/**
+	 * Blocks until every runnable which was queued in the JavaFX-thread before the call has run and a pulse (animation,
+	 * CSS, layout and rendering) has completed afterwards.
+	 * 
+	 * @param timeout
+	 *            maximum duration of the wait in milliseconds
+	 * @throws TimeoutException
+	 *             if the JavaFX-thread did not become idle in time
+	 * @throws IllegalStateException
+	 *             if called in the JavaFX-thread, which can't wait for itself
+	 */
+	public static void waitForFxIdle(long timeout) throws InterruptedException, TimeoutException {
+		if (Platform.isFxApplicationThread()) {
+			throw new IllegalStateException("The JavaFX-thread can't wait until it is idle");
+		}
+		
+		CompletableFuture<Void> idle = new CompletableFuture<>();
+		// runs after everything which was queued before
+		FxDispatcher.runLater(() -> new AnimationTimer() {
+			@Override
+			public void handle(long now) {
+				stop();
+				// the timer is called at the beginning of the pulse, the runnable after it
+				FxDispatcher.runLater(() -> idle.complete(null));
+			}
+		}.start());
+		
+		try {
+			idle.get(timeout, TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} catch (TimeoutException e) {
+			TimeoutException timeoutException = new TimeoutException("The JavaFX-thread was not idle within "
+					+ timeout + " ms");
+			timeoutException.initCause(FxDeadlockDetector.fxThreadStack());
+			throw timeoutException;
+		}
+	}
+}
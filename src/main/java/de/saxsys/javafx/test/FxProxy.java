@@ -0,0 +1,178 @@
+package de.saxsys.javafx.test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javafx.application.Platform;
+
+/**
+ * Creates proxies which call every method of their target in the JavaFX-thread, e.g. for a view model or the
+ * {@link javafx.concurrent.Worker} interface of a Task. Calls from the JavaFX-thread run directly, calls from other
+ * threads are submitted with the {@link FxDispatcher} and block until the result is available. The methods are invoked
+ * with {@link MethodHandle}s, which are looked up once per method and shared by all proxies.
+ * 
+ * Only interfaces can be proxied, because proxies of classes would need generated bytecode.
+ */
+public final class FxProxy {
+	
+	private static final Map<Method, MethodHandle> HANDLES = new ConcurrentHashMap<>();
+	
+	private static final Method EQUALS;
+	private static final Method HASH_CODE;
+	
+	static {
+		try {
+			EQUALS = Object.class.getMethod("equals", Object.class);
+			HASH_CODE = Object.class.getMethod("hashCode");
+		} catch (NoSuchMethodException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
+	private FxProxy() {
+	}
+	
+	/**
+	 * Creates a proxy which calls the target in the JavaFX-thread and waits for every call.
+	 * 
+	 * @param type
+	 *            interface of the proxy
+	 * @param target
+	 *            which is called in the JavaFX-thread
+	 * @return the proxy
+	 */
+	public static <T> T create(Class<T> type, T target) {
+		return create(type, target, false);
+	}
+	
+	/**
+	 * Creates a proxy which calls the target in the JavaFX-thread. With <code>batchVoidCalls</code> methods without a
+	 * result don't wait: they are queued and all queued calls run in one submission to the JavaFX-thread, before any
+	 * later call which returns a result. An exception of a queued call is thrown by the next call which waits.
+	 * 
+	 * @param type
+	 *            interface of the proxy
+	 * @param target
+	 *            which is called in the JavaFX-thread
+	 * @param batchVoidCalls
+	 *            whether calls of void methods should be queued instead of waiting for them
+	 * @return the proxy
+	 */
+	public static <T> T create(Class<T> type, T target, boolean batchVoidCalls) {
+		if (!type.isInterface()) {
+			throw new IllegalArgumentException(type.getName() + " is not an interface");
+		}
+		if (target == null) {
+			throw new NullPointerException("target");
+		}
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+				new FxInvocationHandler(target, batchVoidCalls)));
+	}
+	
+	/**
+	 * @return the handle of the method with the signature <code>(Object target, Object[] args)Object</code>
+	 */
+	private static MethodHandle handle(Method method) {
+		return HANDLES.computeIfAbsent(method, m -> {
+			try {
+				m.setAccessible(true);
+				return MethodHandles.lookup().unreflect(m)
+						.asSpreader(Object[].class, m.getParameterCount())
+						.asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+			} catch (IllegalAccessException | RuntimeException e) {
+				throw new IllegalArgumentException("Cannot access " + m, e);
+			}
+		});
+	}
+	
+	private static final class FxInvocationHandler implements InvocationHandler {
+		
+		private static final Object[] NO_ARGUMENTS = new Object[0];
+		
+		private final Object target;
+		
+		private final boolean batchVoidCalls;
+		
+		/** Void calls which are not submitted yet. */
+		private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+		
+		private final AtomicBoolean drainScheduled = new AtomicBoolean();
+		
+		/** First exception of a queued call, which was not thrown yet. */
+		private final AtomicReference<Throwable> pendingError = new AtomicReference<>();
+		
+		FxInvocationHandler(Object target, boolean batchVoidCalls) {
+			this.target = target;
+			this.batchVoidCalls = batchVoidCalls;
+		}
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (method.equals(EQUALS)) {
+				return proxy == args[0];
+			}
+			if (method.equals(HASH_CODE)) {
+				return System.identityHashCode(proxy);
+			}
+			
+			MethodHandle handle = handle(method);
+			Object[] arguments = args != null ? args : NO_ARGUMENTS;
+			
+			if (batchVoidCalls && method.getReturnType() == void.class && !Platform.isFxApplicationThread()) {
+				pending.add(() -> {
+					try {
+						Object ignored = handle.invokeExact(target, arguments);
+					} catch (Throwable e) {
+						pendingError.compareAndSet(null, e);
+					}
+				});
+				if (drainScheduled.compareAndSet(false, true)) {
+					FxDispatcher.runLater(this::drain);
+				}
+				return null;
+			}
+			
+			Object value = FxDispatcher.call(() -> {
+				drain();
+				try {
+					return handle.invokeExact(target, arguments);
+				} catch (Exception | Error e) {
+					throw e;
+				} catch (Throwable e) {
+					throw new UndeclaredThrowableException(e);
+				}
+			});
+			throwPendingError();
+			return value;
+		}
+		
+		/**
+		 * Runs the queued void calls, has to be called in the JavaFX-thread.
+		 */
+		private void drain() {
+			drainScheduled.set(false);
+			Runnable call;
+			while ((call = pending.poll()) != null) {
+				call.run();
+			}
+		}
+		
+		private void throwPendingError() throws Throwable {
+			Throwable error = pendingError.getAndSet(null);
+			if (error != null) {
+				throw error;
+			}
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package de.saxsys.javafx.test;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * {@link RunListener} which writes the p50, p99 and maximum of the {@link FxQueueStatistics} per test method and per
+ * test class, when the test run is finished. The report is written to the file of the system property
+ * {@value #FILE_PROPERTY} (default {@value #DEFAULT_FILE}) as CSV if the file name ends with ".csv", otherwise as JSON.
+ * All times are in microseconds.
+ */
+public class FxQueueLatencyListener extends RunListener {
+	
+	/** System property which defines the report file. */
+	public static final String FILE_PROPERTY = "jfxrunner.fxQueueStats.file";
+	
+	static final String DEFAULT_FILE = "target/fx-queue-latency.json";
+	
+	@Override
+	public void testRunFinished(Result result) throws Exception {
+		if (!FxQueueStatistics.ENABLED) {
+			return;
+		}
+		Path file = Paths.get(System.getProperty(FILE_PROPERTY, DEFAULT_FILE));
+		if (file.getParent() != null) {
+			Files.createDirectories(file.getParent());
+		}
+		
+		try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+			if (file.getFileName().toString().endsWith(".csv")) {
+				writeCsv(writer);
+			} else {
+				writeJson(writer);
+			}
+		} catch (IOException e) {
+			System.err.println("Could not write the FX queue latency report to " + file + ": " + e);
+		}
+	}
+	
+	private void writeCsv(PrintWriter writer) {
+		writer.println("scope,name,count,waitP50,waitP99,waitMax,runP50,runP99,runMax");
+		for (Map.Entry<String, FxQueueStatistics> entry : FxQueueStatistics.getClassStatistics().entrySet()) {
+			writer.println("class," + csvRow(entry.getKey(), entry.getValue()));
+		}
+		for (Map.Entry<String, FxQueueStatistics> entry : FxQueueStatistics.getMethodStatistics().entrySet()) {
+			writer.println("method," + csvRow(entry.getKey(), entry.getValue()));
+		}
+		writer.println("outside," + csvRow("", FxQueueStatistics.getOutsideOfTests()));
+	}
+	
+	private String csvRow(String name, FxQueueStatistics statistics) {
+		LatencyHistogram wait = statistics.getQueueWait();
+		LatencyHistogram run = statistics.getRunTime();
+		return String.format(Locale.ROOT, "\"%s\",%d,%d,%d,%d,%d,%d,%d", name.replace("\"", "\"\""), wait.getCount(),
+				micros(wait.getPercentile(50)), micros(wait.getPercentile(99)), micros(wait.getMax()),
+				micros(run.getPercentile(50)), micros(run.getPercentile(99)), micros(run.getMax()));
+	}
+	
+	private void writeJson(PrintWriter writer) {
+		writer.println("{");
+		writer.println("  \"classes\": " + jsonObject(FxQueueStatistics.getClassStatistics()) + ",");
+		writer.println("  \"methods\": " + jsonObject(FxQueueStatistics.getMethodStatistics()) + ",");
+		writer.println("  \"outsideOfTests\": " + jsonStatistics(FxQueueStatistics.getOutsideOfTests()));
+		writer.println("}");
+	}
+	
+	private String jsonObject(Map<String, FxQueueStatistics> statistics) {
+		StringBuilder json = new StringBuilder("{");
+		String separator = "\n    ";
+		for (Map.Entry<String, FxQueueStatistics> entry : statistics.entrySet()) {
+			json.append(separator).append('"').append(jsonEscape(entry.getKey())).append("\": ")
+					.append(jsonStatistics(entry.getValue()));
+			separator = ",\n    ";
+		}
+		return json.append(statistics.isEmpty() ? "}" : "\n  }").toString();
+	}
+	
+	private String jsonStatistics(FxQueueStatistics statistics) {
+		LatencyHistogram wait = statistics.getQueueWait();
+		LatencyHistogram run = statistics.getRunTime();
+		return String.format(Locale.ROOT, "{\"count\": %d, \"wait\": %s, \"run\": %s}", wait.getCount(),
+				jsonHistogram(wait), jsonHistogram(run));
+	}
+	
+	private String jsonHistogram(LatencyHistogram histogram) {
+		return String.format(Locale.ROOT, "{\"p50\": %d, \"p99\": %d, \"max\": %d}", micros(histogram.getPercentile(50)),
+				micros(histogram.getPercentile(99)), micros(histogram.getMax()));
+	}
+	
+	private static String jsonEscape(String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"");
+	}
+	
+	private static long micros(long nanos) {
+		return nanos / 1000;
+	}
+}
@@ -0,0 +1,81 @@
+package de.saxsys.javafx.test;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.runner.Description;
+
+/**
+ * Queue-wait and run time of the work which the library submits to the JavaFX-thread through {@link FxDispatcher}.
+ * The statistics are collected per test method and per test class, if the system property {@value #PROPERTY} is set.
+ * 
+ * @see FxQueueLatencyListener
+ */
+public final class FxQueueStatistics {
+	
+	/** System property which enables the statistics. */
+	public static final String PROPERTY = "jfxrunner.fxQueueStats";
+	
+	static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+	
+	private static final ConcurrentMap<String, FxQueueStatistics> BY_METHOD = new ConcurrentHashMap<>();
+	
+	private static final ConcurrentMap<String, FxQueueStatistics> BY_CLASS = new ConcurrentHashMap<>();
+	
+	/** Work which was submitted outside of a test, e.g. by a worker thread of a Service. */
+	private static final FxQueueStatistics OUTSIDE_OF_TESTS = new FxQueueStatistics();
+	
+	private final LatencyHistogram queueWait = new LatencyHistogram();
+	
+	private final LatencyHistogram runTime = new LatencyHistogram();
+	
+	/**
+	 * @return the time between the submission and the start of the work in the JavaFX-thread
+	 */
+	public LatencyHistogram getQueueWait() {
+		return queueWait;
+	}
+	
+	/**
+	 * @return the time the work ran in the JavaFX-thread
+	 */
+	public LatencyHistogram getRunTime() {
+		return runTime;
+	}
+	
+	void record(long submitted, long started, long finished) {
+		queueWait.record(started - submitted);
+		runTime.record(finished - started);
+	}
+	
+	/**
+	 * @return the statistics per test method, the key is the display name of the test
+	 */
+	public static Map<String, FxQueueStatistics> getMethodStatistics() {
+		return new TreeMap<>(BY_METHOD);
+	}
+	
+	/**
+	 * @return the statistics per test class, the key is the name of the class
+	 */
+	public static Map<String, FxQueueStatistics> getClassStatistics() {
+		return new TreeMap<>(BY_CLASS);
+	}
+	
+	/**
+	 * @return the statistics of the work which was submitted outside of a test
+	 */
+	public static FxQueueStatistics getOutsideOfTests() {
+		return OUTSIDE_OF_TESTS;
+	}
+	
+	static FxQueueStatistics forMethod(Description test) {
+		return BY_METHOD.computeIfAbsent(test.getDisplayName(), name -> new FxQueueStatistics());
+	}
+	
+	static FxQueueStatistics forClass(Description test) {
+		return BY_CLASS.computeIfAbsent(test.getClassName(), name -> new FxQueueStatistics());
+	}
+}
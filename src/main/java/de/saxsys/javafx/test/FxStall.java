@@ -0,0 +1,60 @@
+package de.saxsys.javafx.test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A period in which the JavaFX-thread did not process its event queue for longer than the threshold of the
+ * {@link FxStallDetector}. The stack samples of the JavaFX-thread are merged into collapsed stacks (one line per
+ * distinct stack, frames from the root to the leaf separated by ';', followed by the number of samples), which is the
+ * input format of the common flame graph tools.
+ */
+final class FxStall {
+	
+	private final long durationInNanos;
+	
+	private final Map<String, Integer> samples;
+	
+	FxStall(long durationInNanos, Map<String, Integer> samples) {
+		this.durationInNanos = durationInNanos;
+		this.samples = samples;
+	}
+	
+	long getDuration(TimeUnit unit) {
+		return unit.convert(durationInNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Merges the samples of the stalls by stack, so a stack which blocked the JavaFX-thread in several stalls has one
+	 * line with the sum of its samples.
+	 * 
+	 * @return the collapsed stacks, the most frequent stack first
+	 */
+	static List<String> toCollapsedStacks(List<FxStall> stalls) {
+		Map<String, Integer> merged = new HashMap<>();
+		for (FxStall stall : stalls) {
+			stall.samples.forEach((stack, count) -> merged.merge(stack, count, Integer::sum));
+		}
+		List<Map.Entry<String, Integer>> entries = new ArrayList<>(merged.entrySet());
+		entries.sort((a, b) -> b.getValue().compareTo(a.getValue()));
+		List<String> lines = new ArrayList<>();
+		for (Map.Entry<String, Integer> entry : entries) {
+			lines.add(entry.getKey() + " " + entry.getValue());
+		}
+		return lines;
+	}
+	
+	static String collapse(StackTraceElement[] stack) {
+		StringBuilder collapsed = new StringBuilder();
+		for (int i = stack.length - 1; i >= 0; i--) {
+			collapsed.append(stack[i].getClassName()).append('.').append(stack[i].getMethodName());
+			if (i > 0) {
+				collapsed.append(';');
+			}
+		}
+		return collapsed.toString();
+	}
+}
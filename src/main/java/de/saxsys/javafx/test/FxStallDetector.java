@@ -0,0 +1,173 @@
+package de.saxsys.javafx.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javafx.application.Platform;
+
+/**
+ * Opt-in detector for work which blocks the JavaFX-thread. It posts a heartbeat to the JavaFX-thread; if the heartbeat
+ * is not processed within the threshold of the system property {@value #THRESHOLD_PROPERTY} (in milliseconds), the
+ * stack of the JavaFX-thread is sampled every {@value #INTERVAL_PROPERTY} milliseconds until the heartbeat is
+ * processed. The merged samples are attached to the tests which were running during the stall: they are written to
+ * the directory of {@value #DIRECTORY_PROPERTY} and, with {@value #FAIL_PROPERTY}, fail the test.
+ */
+final class FxStallDetector implements Runnable {
+	
+	/** System property which enables the detector with the given threshold in milliseconds. */
+	static final String THRESHOLD_PROPERTY = "jfxrunner.stallDetector.threshold";
+	
+	/** System property which defines the sampling interval in milliseconds (default 10). */
+	static final String INTERVAL_PROPERTY = "jfxrunner.stallDetector.interval";
+	
+	/** System property which defines the directory of the profiles (default target/jfx-stalls). */
+	static final String DIRECTORY_PROPERTY = "jfxrunner.stallDetector.dir";
+	
+	/** System property which lets tests with stalls fail. */
+	static final String FAIL_PROPERTY = "jfxrunner.stallDetector.fail";
+	
+	private final Thread fxThread;
+	
+	private final long thresholdInMillis;
+	
+	private final long intervalInMillis;
+	
+	private final AtomicLong processedHeartbeat = new AtomicLong();
+	
+	/** The heartbeat of the stall which is sampled at the moment, 0 if there is none. Guarded by this. */
+	private long stalledHeartbeat;
+	
+	/** The running detector, <code>null</code> if the detector is not enabled. */
+	private static volatile FxStallDetector running;
+	
+	private FxStallDetector(Thread fxThread, long thresholdInMillis, long intervalInMillis) {
+		this.fxThread = fxThread;
+		this.thresholdInMillis = thresholdInMillis;
+		this.intervalInMillis = intervalInMillis;
+	}
+	
+	/**
+	 * Starts the detector, if it is enabled by the system property {@value #THRESHOLD_PROPERTY}.
+	 * 
+	 * @param fxThread
+	 *            the JavaFX application thread
+	 */
+	static void startIfEnabled(Thread fxThread) {
+		long threshold = Long.getLong(THRESHOLD_PROPERTY, 0);
+		if (threshold <= 0) {
+			return;
+		}
+		long interval = Math.max(1, Long.getLong(INTERVAL_PROPERTY, 10));
+		running = new FxStallDetector(fxThread, threshold, interval);
+		Thread detector = new Thread(running, "jfxrunner-stall-detector");
+		detector.setDaemon(true);
+		detector.start();
+	}
+	
+	@Override
+	public void run() {
+		long heartbeat = 0;
+		try {
+			while (true) {
+				final long current = ++heartbeat;
+				long posted = System.nanoTime();
+				Platform.runLater(() -> processedHeartbeat.set(current));
+				Thread.sleep(thresholdInMillis);
+				if (processedHeartbeat.get() >= current) {
+					continue;
+				}
+				
+				synchronized (this) {
+					stalledHeartbeat = current;
+				}
+				Map<String, Integer> samples = new HashMap<>();
+				while (processedHeartbeat.get() < current) {
+					samples.merge(FxStall.collapse(fxThread.getStackTrace()), 1, Integer::sum);
+					Thread.sleep(intervalInMillis);
+				}
+				RunningTest.recordStall(new FxStall(System.nanoTime() - posted, samples));
+				synchronized (this) {
+					stalledHeartbeat = 0;
+					notifyAll();
+				}
+			}
+		} catch (InterruptedException | IllegalStateException e) {
+			// interrupted or the toolkit exited
+			synchronized (this) {
+				stalledHeartbeat = 0;
+				notifyAll();
+			}
+		}
+	}
+	
+	/**
+	 * Waits until a stall which ended before the call is recorded. The stall of a test which blocks the JavaFX-thread
+	 * ends only after the test, when the heartbeat behind it is processed.
+	 */
+	private synchronized void awaitRecordedStall() throws InterruptedException {
+		while (stalledHeartbeat != 0 && processedHeartbeat.get() >= stalledHeartbeat) {
+			wait();
+		}
+	}
+	
+	/**
+	 * Writes the profiles of the stalls of the test and fails the test, if {@value #FAIL_PROPERTY} is set. Has to be
+	 * called while the test is still active (see {@link RunningTest#activate()}) and outside of the JavaFX-thread, so
+	 * the stalls which the test caused are recorded before.
+	 * 
+	 * @param test
+	 *            which is finished
+	 * @param mayFail
+	 *            <code>false</code> if the test failed already
+	 */
+	static void report(RunningTest test, boolean mayFail) {
+		FxStallDetector detector = running;
+		if (detector == null) {
+			return;
+		}
+		FxDispatcher.flush(detector.thresholdInMillis);
+		try {
+			detector.awaitRecordedStall();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		
+		List<FxStall> stalls = test.getStalls();
+		if (stalls.isEmpty()) {
+			return;
+		}
+		
+		List<String> profile = FxStall.toCollapsedStacks(stalls);
+		long longest = 0;
+		for (FxStall stall : stalls) {
+			longest = Math.max(longest, stall.getDuration(TimeUnit.MILLISECONDS));
+		}
+		
+		Path file = Paths.get(System.getProperty(DIRECTORY_PROPERTY, "target/jfx-stalls"),
+				test.getDescription().getDisplayName().replaceAll("[^\\w.#()-]", "_") + ".collapsed");
+		try {
+			Files.createDirectories(file.getParent());
+			Files.write(file, profile, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			System.err.println("Could not write the stall profile to " + file + ": " + e);
+		}
+		
+		if (mayFail && Boolean.getBoolean(FAIL_PROPERTY)) {
+			StringBuilder message = new StringBuilder(String.format(
+					"The JavaFX-thread stalled %d times, the longest stall took %d ms (profile: %s). Most frequent stacks:",
+					stalls.size(), longest, file));
+			for (String stack : profile.subList(0, Math.min(5, profile.size()))) {
+				message.append(System.lineSeparator()).append(stack);
+			}
+			throw new AssertionError(message.toString());
+		}
+	}
+}
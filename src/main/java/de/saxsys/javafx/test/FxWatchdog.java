@@ -0,0 +1,59 @@
+package de.saxsys.javafx.test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.runner.Description;
+
+/**
+ * Watches the timeouts of the test methods in the JavaFX-thread. The deadlines are observed by a separate thread, so
+ * a test which hangs in the JavaFX-thread can't block its own failure. As long as a timed out test still blocks the
+ * JavaFX-thread, the following tests in the JavaFX-thread fail immediately instead of waiting for it.
+ */
+final class FxWatchdog {
+	
+	private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "jfxrunner-fx-watchdog");
+		thread.setDaemon(true);
+		return thread;
+	});
+	
+	private static final AtomicReference<Description> BLOCKING_TEST = new AtomicReference<>();
+	
+	private FxWatchdog() {
+	}
+	
+	static ScheduledFuture<?> watch(long timeoutInMillis, Runnable onTimeout) {
+		return TIMER.schedule(onTimeout, timeoutInMillis, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * @return the timed out test which still blocks the JavaFX-thread, or <code>null</code>
+	 */
+	static Description getBlockingTest() {
+		return BLOCKING_TEST.get();
+	}
+	
+	static void blockedBy(Description test) {
+		BLOCKING_TEST.set(test);
+	}
+	
+	static void releasedBy(Description test) {
+		BLOCKING_TEST.compareAndSet(test, null);
+	}
+	
+	/**
+	 * @return an exception with the current stack of the JavaFX-thread, which shows where the test hangs
+	 */
+	static Exception timeoutException(long timeoutInMillis) {
+		Exception exception = new Exception(String.format("test timed out after %d milliseconds", timeoutInMillis));
+		Thread fxThread = SingleJfxApplication.getFxThread();
+		if (fxThread != null) {
+			exception.setStackTrace(fxThread.getStackTrace());
+		}
+		return exception;
+	}
+}
@@ -0,0 +1,19 @@
+package de.saxsys.javafx.test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Starts JavaFX with the headless Monocle glass platform and software rendering, so the tests run without a display
+ * (e.g. on a CI server without Xvfb). Monocle has to be on the test classpath, otherwise JavaFX is started with the
+ * default platform. As JavaFX is started only once per JVM, the first test class decides about the boot mode.
+ * 
+ * The headless mode can also be enabled for all test classes with the system property
+ * {@value SingleJfxApplication#HEADLESS_PROPERTY}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface HeadlessJfx {
+}
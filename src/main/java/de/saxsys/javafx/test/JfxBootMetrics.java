@@ -0,0 +1,102 @@
+package de.saxsys.javafx.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boot-time measurements of the JavaFX toolkit which is started by {@link SingleJfxApplication}. All durations are
+ * measured from the first call of {@link SingleJfxApplication#startJavaFx()}.
+ * 
+ * @see JfxBootMetricsListener
+ */
+public final class JfxBootMetrics {
+	
+	private static final long NOT_MEASURED = -1;
+	
+	private static volatile long launchRequested = NOT_MEASURED;
+	
+	private static volatile long toolkitReady = NOT_MEASURED;
+	
+	private static volatile long firstPulse = NOT_MEASURED;
+	
+	private static volatile boolean headless;
+	
+	private JfxBootMetrics() {
+	}
+	
+	static void launchRequested() {
+		launchRequested = System.nanoTime();
+	}
+	
+	static void headless() {
+		headless = true;
+	}
+	
+	static void toolkitReady() {
+		toolkitReady = System.nanoTime();
+	}
+	
+	static void firstPulse() {
+		firstPulse = System.nanoTime();
+	}
+	
+	/**
+	 * @param unit
+	 *            of the result
+	 * @return the time until {@link SingleJfxApplication#start(javafx.stage.Stage)} was called, or -1 if the toolkit
+	 *         is not started yet
+	 */
+	public static long getTimeToToolkitReady(TimeUnit unit) {
+		return since(toolkitReady, unit);
+	}
+	
+	/**
+	 * @param unit
+	 *            of the result
+	 * @return the time until the first pulse of the toolkit, or -1 if there was no pulse yet
+	 */
+	public static long getTimeToFirstPulse(TimeUnit unit) {
+		return since(firstPulse, unit);
+	}
+	
+	/**
+	 * @return whether the toolkit was started with the headless glass platform
+	 */
+	public static boolean isHeadless() {
+		return headless;
+	}
+	
+	/**
+	 * @return the resident set size of the JVM in bytes, or -1 if it can't be determined (only supported on Linux)
+	 */
+	public static long getResidentSetSize() {
+		Path status = Paths.get("/proc/self/status");
+		if (!Files.isReadable(status)) {
+			return NOT_MEASURED;
+		}
+		try {
+			for (String line : Files.readAllLines(status, StandardCharsets.US_ASCII)) {
+				// e.g. "VmRSS:	  123456 kB"
+				if (line.startsWith("VmRSS:")) {
+					String kiloBytes = line.substring("VmRSS:".length()).replace("kB", "").trim();
+					return Long.parseLong(kiloBytes) * 1024;
+				}
+			}
+		} catch (IOException | NumberFormatException e) {
+			// not available
+		}
+		return NOT_MEASURED;
+	}
+	
+	private static long since(long timestamp, TimeUnit unit) {
+		long start = launchRequested;
+		if (start == NOT_MEASURED || timestamp == NOT_MEASURED) {
+			return NOT_MEASURED;
+		}
+		return unit.convert(timestamp - start, TimeUnit.NANOSECONDS);
+	}
+}
@@ -0,0 +1,54 @@
+package de.saxsys.javafx.test;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * {@link RunListener} which reports the {@link JfxBootMetrics}, the share of the wall-clock time of the JVM that was
+ * spent to start the toolkit and the resident set size of the JVM, when the test run is finished. Compare the reports
+ * of a windowed and a headless run to see the difference of the boot modes. The listener only reports if the system
+ * property {@value #FILE_PROPERTY} is set: the report is appended as a JSON line to this file, so the values of all
+ * forked JVMs can be collected, and a summary is written to System.out.
+ */
+public class JfxBootMetricsListener extends RunListener {
+	
+	/** System property which defines the file the JSON lines are appended to. */
+	public static final String FILE_PROPERTY = "jfxrunner.bootMetrics.file";
+	
+	@Override
+	public void testRunFinished(Result result) throws Exception {
+		String file = System.getProperty(FILE_PROPERTY);
+		if (file == null) {
+			return;
+		}
+		long toolkitReady = JfxBootMetrics.getTimeToToolkitReady(TimeUnit.MILLISECONDS);
+		if (toolkitReady < 0) {
+			// JavaFX was not started in this JVM
+			return;
+		}
+		long firstPulse = JfxBootMetrics.getTimeToFirstPulse(TimeUnit.MILLISECONDS);
+		long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+		double share = uptime > 0 ? 100.0 * toolkitReady / uptime : 0;
+		String mode = JfxBootMetrics.isHeadless() ? "headless" : "windowed";
+		long rss = JfxBootMetrics.getResidentSetSize();
+		// the RSS is only known on Linux
+		String rssText = rss < 0 ? "n/a" : rss / 1024 + " kB";
+		String rssField = rss < 0 ? "" : ",\"rssBytes\":" + rss;
+		
+		System.out.println(String.format("JavaFX boot (%s): toolkit ready after %d ms, first pulse after %d ms, "
+				+ "%.1f%% of %d ms JVM uptime, RSS %s", mode, toolkitReady, firstPulse, share, uptime, rssText));
+		
+		try (Writer writer = new FileWriter(file, true)) {
+			writer.write(String.format("{\"mode\":\"%s\",\"toolkitReadyMillis\":%d,\"firstPulseMillis\":%d,"
+					+ "\"jvmUptimeMillis\":%d%s}%n", mode, toolkitReady, firstPulse, uptime, rssField));
+		} catch (IOException e) {
+			System.err.println("Could not write the JavaFX boot metrics to " + file + ": " + e);
+		}
+	}
+}
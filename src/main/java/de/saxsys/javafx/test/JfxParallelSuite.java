@@ -0,0 +1,88 @@
+package de.saxsys.javafx.test;
+
+import java.util.List;
+
+import org.junit.runner.Runner;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.Suite;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
+
+/**
+ * Suite which runs its classes concurrently in one JVM and shares the JavaFX toolkit between them. The classes are
+ * listed with {@link org.junit.runners.Suite.SuiteClasses}, the number of classes which run at the same time is
+ * defined by {@link RunInParallel} (default: the number of available processors). Test methods in the JavaFX-thread
+ * take turns in the order in which they arrive, so no class can starve the others. With
+ * {@value TestTimings#SLOWEST_FIRST_PROPERTY} the slowest classes start first.
+ * 
+ * <pre>
+ * &#064;RunWith(JfxParallelSuite.class)
+ * &#064;SuiteClasses({ FirstTest.class, SecondTest.class })
+ * &#064;RunInParallel(threads = 4)
+ * public class AllTests {
+ * }
+ * </pre>
+ */
+public class JfxParallelSuite extends Suite {
+	
+	private final ParallelScheduler scheduler;
+	
+	/**
+	 * Called reflectively by JUnit for classes annotated with <code>@RunWith(JfxParallelSuite.class)</code>.
+	 * 
+	 * @param klass
+	 *            the root class
+	 * @param builder
+	 *            builds runners for the classes in the suite
+	 * @throws InitializationError
+	 *             if JavaFX could not be launched or the suite is malformed
+	 */
+	public JfxParallelSuite(Class<?> klass, RunnerBuilder builder) throws InitializationError {
+		// the toolkit has to be started before the runners of the classes are built
+		super(klass, startJavaFx(klass, builder));
+		scheduler = new ParallelScheduler(threads(klass));
+		setScheduler(scheduler);
+		if (Boolean.getBoolean(TestTimings.SLOWEST_FIRST_PROPERTY)) {
+			sort(new SlowestFirstSorter(TestTimings.load()));
+		}
+	}
+	
+	/**
+	 * Creates a suite of the given classes, e.g. for a programmatic run.
+	 * 
+	 * @param klass
+	 *            the root class, which is used for the {@link RunInParallel} and {@link HeadlessJfx} annotations
+	 * @param runners
+	 *            of the classes
+	 * @throws InitializationError
+	 *             if JavaFX could not be launched
+	 */
+	public JfxParallelSuite(Class<?> klass, List<Runner> runners) throws InitializationError {
+		super(klass, runners);
+		startJavaFx(klass, null);
+		scheduler = new ParallelScheduler(threads(klass));
+		setScheduler(scheduler);
+		if (Boolean.getBoolean(TestTimings.SLOWEST_FIRST_PROPERTY)) {
+			sort(new SlowestFirstSorter(TestTimings.load()));
+		}
+	}
+	
+	private static RunnerBuilder startJavaFx(Class<?> klass, RunnerBuilder builder) throws InitializationError {
+		// the toolkit is started once for all classes
+		SingleJfxApplication.startJavaFx(klass.isAnnotationPresent(HeadlessJfx.class));
+		return builder;
+	}
+	
+	private static int threads(Class<?> klass) {
+		RunInParallel runInParallel = klass.getAnnotation(RunInParallel.class);
+		int threads = runInParallel != null ? runInParallel.threads() : 0;
+		return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+	}
+	
+	@Override
+	protected void runChild(final Runner runner, final RunNotifier notifier) {
+		// the classes report concurrently through a serialized notifier
+		final RunNotifier synchronizedNotifier = new SynchronizedRunNotifier(notifier);
+		scheduler.submit(() -> JfxParallelSuite.super.runChild(runner, synchronizedNotifier));
+	}
+}
@@ -1,77 +1,342 @@
-package de.saxsys.javafx.test;
-
-import java.util.concurrent.CountDownLatch;
-
-import javafx.application.Platform;
-
-import org.junit.Test;
-import org.junit.runner.notification.RunNotifier;
-import org.junit.runners.BlockJUnit4ClassRunner;
-import org.junit.runners.model.FrameworkMethod;
-import org.junit.runners.model.InitializationError;
-
-/**
- * This basic class runner ensures that JavaFx is running and then wraps all the runChild() calls in a
- * Platform.runLater(). runChild() is called for each test that is run. By wrapping each call in the Platform.runLater()
- * this ensures that the request is executed on the JavaFx thread.
- */
-public class JfxRunner extends BlockJUnit4ClassRunner {
-	
-	private static final String ERROR_ON_TIMEOUT = "@TestInJfxThread does not work with timeouts in the @Test Annotation. A possible Workaround might be a timeouted CompletableFuture.";
-	
-	/**
-	 * Constructs a new JavaFxJUnit4ClassRunner with the given parameters.
-	 * 
-	 * @param clazz
-	 *            The class that is to be run with this Runner
-	 * @throws InitializationError
-	 *             Thrown by the BlockJUnit4ClassRunner in the super()
-	 */
-	public JfxRunner(final Class<?> clazz) throws InitializationError {
-		super(clazz);
-		
-		SingleJfxApplication.startJavaFx();
-	}
-	
-	/**
-	 * {@inheritDoc}
-	 */
-	@Override
-	protected void runChild(final FrameworkMethod method, final RunNotifier notifier) {
-		// Create a latch which is only removed after the super runChild()
-		// method
-		// has been implemented.
-		final CountDownLatch latch = new CountDownLatch(1);
-		
-		// Check whether the method should run in FX-Thread or not.
-		TestInJfxThread performMethodInFxThread = method.getAnnotation(TestInJfxThread.class);
-		if (performMethodInFxThread != null) {
-			Test annotation = method.getAnnotation(Test.class);
-			long timeout = annotation.timeout();
-			
-			if (timeout > 0) {
-				System.err.println(ERROR_ON_TIMEOUT);
-				throw new UnsupportedOperationException(
-						ERROR_ON_TIMEOUT);
-			}
-			
-			
-			Platform.runLater(() -> {
-				JfxRunner.super.runChild(method, notifier);
-				latch.countDown();
-			});
-		} else {
-			JfxRunner.super.runChild(method, notifier);
-			latch.countDown();
-		}
-		
-		// Decrement the latch which will now proceed.
-		
-		try {
-			latch.await();
-		} catch (InterruptedException e) {
-			// Waiting for the latch was interruped
-			e.printStackTrace();
-		}
-	}
-}
\ No newline at end of file
+package de.saxsys.javafx.test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
+
+/**
+ * This basic class runner ensures that JavaFx is running and then wraps all the runChild() calls in a
+ * Platform.runLater(). runChild() is called for each test that is run. By wrapping each call in the Platform.runLater()
+ * this ensures that the request is executed on the JavaFx thread.
+ */
+public class JfxRunner extends BlockJUnit4ClassRunner {
+	
+	/** System property which enables the parallel mode (see {@link RunInParallel}) for all test classes. */
+	public static final String PARALLEL_PROPERTY = "jfxrunner.parallel";
+	
+	/** System property which defines the number of threads of the parallel mode. */
+	public static final String PARALLEL_THREADS_PROPERTY = "jfxrunner.parallel.threads";
+	
+	private static final String ERROR_ON_BLOCKED_FX_THREAD = "The JavaFX-thread is still blocked by the timed out test %s";
+	
+	/** Scheduler of the parallel mode, <code>null</code> if the test methods run sequentially. */
+	private final ParallelScheduler parallelScheduler;
+	
+	/**
+	 * Admits one test method at a time to the JavaFX-thread, in the order of arrival. So the timeout of a test does not
+	 * include the time it waits for the tests of other classes, and no class can starve the others.
+	 */
+	private static final Semaphore FX_LANE = new Semaphore(1, true);
+	
+	/**
+	 * Constructs a new JavaFxJUnit4ClassRunner with the given parameters.
+	 * 
+	 * @param clazz
+	 *            The class that is to be run with this Runner
+	 * @throws InitializationError
+	 *             Thrown by the BlockJUnit4ClassRunner in the super()
+	 */
+	public JfxRunner(final Class<?> clazz) throws InitializationError {
+		super(clazz);
+		
+		SingleJfxApplication.startJavaFx(clazz.isAnnotationPresent(HeadlessJfx.class));
+		
+		int parallelThreads = parallelThreads(clazz);
+		if (parallelThreads > 0) {
+			parallelScheduler = new ParallelScheduler(parallelThreads);
+			setScheduler(parallelScheduler);
+		} else {
+			parallelScheduler = null;
+		}
+		
+		TestShardFilter shardFilter = TestShardFilter.fromProperties();
+		if (shardFilter != null) {
+			try {
+				filter(shardFilter);
+			} catch (NoTestsRemainException e) {
+				// no test of the class belongs to this shard
+			}
+		}
+		if (Boolean.getBoolean(TestTimings.SLOWEST_FIRST_PROPERTY)) {
+			sort(new SlowestFirstSorter(TestTimings.load()));
+		}
+	}
+	
+	/**
+	 * Saves the durations of the test methods (see {@link TestTimings}) after the class.
+	 */
+	@Override
+	public void run(final RunNotifier notifier) {
+		try {
+			super.run(notifier);
+		} finally {
+			TestTimings.save();
+		}
+	}
+	
+	/**
+	 * @return the number of threads for the parallel mode, or 0 if the test methods should run sequentially.
+	 */
+	private static int parallelThreads(final Class<?> clazz) {
+		RunInParallel runInParallel = clazz.getAnnotation(RunInParallel.class);
+		if (runInParallel == null && !Boolean.getBoolean(PARALLEL_PROPERTY)) {
+			return 0;
+		}
+		int threads = runInParallel != null ? runInParallel.threads() : Integer.getInteger(PARALLEL_THREADS_PROPERTY, 0);
+		return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void runChild(final FrameworkMethod method, final RunNotifier notifier) {
+		if (parallelScheduler == null) {
+			runChildAndWait(method, notifier);
+			return;
+		}
+		
+		// Concurrent test methods have to report through a serialized notifier
+		final RunNotifier synchronizedNotifier = new SynchronizedRunNotifier(notifier);
+		if (method.getAnnotation(TestInJfxThread.class) != null) {
+			parallelScheduler.submitToFxLane(() -> runChildAndWait(method, synchronizedNotifier));
+		} else {
+			parallelScheduler.submit(() -> runChildAndWait(method, synchronizedNotifier));
+		}
+	}
+	
+	/**
+	 * Runs the test method in the current thread with the given test as {@link RunningTest}.
+	 */
+	private void runChildInContext(final RunningTest test, final FrameworkMethod method, final RunNotifier notifier) {
+		RunningTest previous = test.enter();
+		try {
+			JfxRunner.super.runChild(method, notifier);
+		} finally {
+			RunningTest.restore(previous);
+		}
+	}
+	
+	/**
+	 * Measures the test method, if it has a budget (see {@link PerformanceBudget}). The method runs in the context of
+	 * the test, even if a timeout of JUnit runs it in another thread.
+	 */
+	@Override
+	protected Statement methodInvoker(final FrameworkMethod method, final Object test) {
+		final Statement invoker = PerformanceBudget.wrap(method, super.methodInvoker(method, test));
+		final RunningTest runningTest = RunningTest.current();
+		if (runningTest == null) {
+			return invoker;
+		}
+		return new Statement() {
+			@Override
+			public void evaluate() throws Throwable {
+				RunningTest previous = runningTest.enter();
+				try {
+					invoker.evaluate();
+				} finally {
+					RunningTest.restore(previous);
+				}
+			}
+		};
+	}
+	
+	/**
+	 * Injects the {@link PooledStage}s before the befores and returns them to the {@link StagePool} after the afters.
+	 */
+	@Override
+	@SuppressWarnings("deprecation")
+	protected Statement withAfters(final FrameworkMethod method, final Object target, final Statement statement) {
+		final Statement afters = super.withAfters(method, target, statement);
+		return new Statement() {
+			@Override
+			public void evaluate() throws Throwable {
+				List<Stage> stages = StagePool.inject(target);
+				try {
+					afters.evaluate();
+				} finally {
+					for (Stage stage : stages) {
+						StagePool.release(stage);
+					}
+				}
+			}
+		};
+	}
+	
+	/**
+	 * Records the duration of the test (see {@link TestTimings}), cancels its Services (see {@link ServiceCleanup}) and
+	 * reports the stalls of the JavaFX-thread (see {@link FxStallDetector}) and the leaks (see {@link LeakTracker})
+	 * after the test and its befores and afters. A test in the JavaFX-thread is cleaned up and reported by the thread
+	 * which dispatched it, see {@link #runChildAndWait(FrameworkMethod, RunNotifier)}.
+	 */
+	@Override
+	protected Statement methodBlock(final FrameworkMethod method) {
+		// the statement references the test instance, which must not keep the objects of the test reachable
+		final AtomicReference<Statement> statement = new AtomicReference<>(super.methodBlock(method));
+		return new Statement() {
+			@Override
+			public void evaluate() throws Throwable {
+				boolean succeeded = false;
+				long start = System.nanoTime();
+				try {
+					statement.getAndSet(null).evaluate();
+					succeeded = true;
+				} finally {
+					TestTimings.record(describeChild(method), System.nanoTime() - start);
+					RunningTest test = RunningTest.current();
+					if (test != null && !Platform.isFxApplicationThread()) {
+						cleanUpAndReport(test, succeeded);
+					} else if (test != null && test.getDescription().equals(FxWatchdog.getBlockingTest())) {
+						// the dispatching thread of the timed out test does not wait anymore
+						ServiceCleanup.cancel(test);
+						LeakTracker.discard(test);
+					}
+				}
+			}
+		};
+	}
+	
+	/**
+	 * Cleans up the Services and reports the stalls and leaks of the finished test. Has to be called outside of the
+	 * JavaFX-thread.
+	 */
+	private static void cleanUpAndReport(RunningTest test, boolean mayFail) {
+		try {
+			ServiceCleanup.cleanUp(test);
+			FxStallDetector.report(test, mayFail);
+		} finally {
+			LeakTracker.report(test, mayFail);
+		}
+	}
+	
+	/**
+	 * Runs the test method in the current thread or hands it over to the JavaFX-thread and waits for it. The test is
+	 * active (see {@link RunningTest#activate()}) until the thread checked the finished test.
+	 */
+	private void runChildAndWait(final FrameworkMethod method, final RunNotifier notifier) {
+		// The dispatching thread runs in the context of the test, too
+		final RunningTest test = new RunningTest(describeChild(method));
+		RunningTest previous = test.enter();
+		test.activate();
+		try {
+			// Check whether the method should run in FX-Thread or not.
+			TestInJfxThread performMethodInFxThread = method.getAnnotation(TestInJfxThread.class);
+			if (performMethodInFxThread != null) {
+				// Create a latch which is only removed after the super runChild() method has been implemented.
+				final CountDownLatch latch = new CountDownLatch(1);
+				final WatchedRunNotifier watchedNotifier;
+				// test classes which run in parallel take turns in the JavaFX-thread
+				FX_LANE.acquire();
+				try {
+					watchedNotifier = runChildInFxThread(test, method, notifier, latch);
+					latch.await();
+				} finally {
+					FX_LANE.release();
+				}
+				if (watchedNotifier != null) {
+					watchedNotifier.finish(mayFail -> cleanUpAndReport(test, mayFail));
+				}
+			} else {
+				runChildInContext(test, method, notifier);
+			}
+		} catch (InterruptedException e) {
+			// Waiting for the latch was interruped
+			e.printStackTrace();
+		} finally {
+			test.deactivate();
+			RunningTest.restore(previous);
+		}
+	}
+	
+	/**
+	 * Hands the test method over to the JavaFX-thread. If the test has a timeout, the {@link FxWatchdog} fails the
+	 * test and releases the latch when the timeout is exceeded, even if the test still blocks the JavaFX-thread.
+	 * 
+	 * @return the notifier which holds back the finish of the test, <code>null</code> if the test was not handed over
+	 */
+	private WatchedRunNotifier runChildInFxThread(final RunningTest test, final FrameworkMethod method,
+			final RunNotifier notifier, final CountDownLatch latch) {
+		final Description description = test.getDescription();
+		
+		Description blockingTest = FxWatchdog.getBlockingTest();
+		if (blockingTest != null) {
+			notifier.fireTestStarted(description);
+			notifier.fireTestFailure(new Failure(description, new IllegalStateException(String.format(
+					ERROR_ON_BLOCKED_FX_THREAD, blockingTest.getDisplayName()))));
+			notifier.fireTestFinished(description);
+			latch.countDown();
+			return null;
+		}
+		
+		final long timeout = method.getAnnotation(Test.class).timeout();
+		final WatchedRunNotifier watchedNotifier = new WatchedRunNotifier(notifier);
+		final ScheduledFuture<?> watchdog = timeout <= 0 ? null : FxWatchdog.watch(timeout, () -> {
+			final Exception timeoutException;
+			synchronized (watchedNotifier) {
+				if (!watchedNotifier.timeOut()) {
+					return;
+				}
+				FxWatchdog.blockedBy(description);
+				timeoutException = FxWatchdog.timeoutException(timeout);
+				// interrupted while the test is known to block, the test clears the flag when it completes
+				Thread fxThread = SingleJfxApplication.getFxThread();
+				if (fxThread != null) {
+					fxThread.interrupt();
+				}
+			}
+			if (!watchedNotifier.isStarted()) {
+				notifier.fireTestStarted(description);
+			}
+			notifier.fireTestFailure(new Failure(description, timeoutException));
+			notifier.fireTestFinished(description);
+			latch.countDown();
+		});
+		
+		FxDispatcher.runLater(() -> {
+			try {
+				runChildInContext(test, method, watchedNotifier);
+			} finally {
+				if (watchdog != null) {
+					watchdog.cancel(false);
+				}
+				synchronized (watchedNotifier) {
+					if (watchedNotifier.complete()) {
+						// the watchdog reported the test already
+						FxWatchdog.releasedBy(description);
+						Thread.interrupted();
+					}
+				}
+				latch.countDown();
+			}
+		});
+		return watchedNotifier;
+	}
+	
+	/**
+	 * The timeout of a test in the JavaFX-thread is handled by the {@link FxWatchdog}, a
+	 * {@link org.junit.internal.runners.statements.FailOnTimeout} would run the test in another thread.
+	 */
+	@Override
+	@SuppressWarnings("deprecation")
+	protected Statement withPotentialTimeout(FrameworkMethod method, Object test, Statement next) {
+		if (method.getAnnotation(TestInJfxThread.class) != null) {
+			return next;
+		}
+		return super.withPotentialTimeout(method, test, next);
+	}
+}
@@ -0,0 +1,88 @@
+package de.saxsys.javafx.test;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+
+import de.saxsys.javafx.test.service.ServiceWrapper;
+
+/**
+ * Loads the classes and caches which a test run needs anyway: the toolkit, a Service cycle through the
+ * {@link ServiceWrapper}, the default stylesheet and the default font. Run {@link #main(String[])} in a JVM which dumps
+ * the loaded classes with <code>-XX:ArchiveClassesAtExit</code> to create a class data sharing archive for later JVMs
+ * with the same classpath; the <code>appcds</code> profile of the benchmarks module does this.
+ * 
+ * With the system property {@value #PRELOAD_PROPERTY} the stylesheet and the font are loaded right after JavaFX is
+ * started, before the first test.
+ */
+public final class JfxWarmup {
+	
+	/** System property which preloads the stylesheet and the font when JavaFX starts. */
+	public static final String PRELOAD_PROPERTY = "jfxrunner.preload";
+	
+	private JfxWarmup() {
+	}
+	
+	/**
+	 * Starts JavaFX, runs a Service cycle, loads the stylesheet and the font and exits the JVM.
+	 * 
+	 * @param args
+	 *            not used
+	 */
+	public static void main(String[] args) throws Exception {
+		long start = System.nanoTime();
+		SingleJfxApplication.startJavaFx();
+		
+		ServiceWrapper wrapper = new ServiceWrapper(new Service<String>() {
+			@Override
+			protected Task<String> createTask() {
+				return new Task<String>() {
+					@Override
+					protected String call() throws Exception {
+						updateProgress(1, 1);
+						updateMessage("warm");
+						return "warm";
+					}
+				};
+			}
+		});
+		wrapper.startAndWait(10000);
+		wrapper.restartAndWait(10000);
+		wrapper.snapshot();
+		
+		FxDispatcher.call(() -> {
+			preload();
+			return null;
+		});
+		FxIdle.waitForFxIdle(10000);
+		
+		System.out.println(String.format("JavaFX warm-up finished after %d ms",
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+		Platform.exit();
+		System.exit(0);
+	}
+	
+	/**
+	 * Applies the default stylesheet to the common controls and measures text with the default font, has to be called
+	 * in the JavaFX-thread.
+	 */
+	static void preload() {
+		Font.getDefault();
+		VBox root = new VBox(new Label("warm"), new Button("warm"), new TextField("warm"));
+		new Scene(root);
+		root.applyCss();
+		root.layout();
+	}
+	
+	static boolean isPreloadEnabled() {
+		return Boolean.getBoolean(PRELOAD_PROPERTY);
+	}
+}
@@ -0,0 +1,93 @@
+package de.saxsys.javafx.test;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of durations in nanoseconds. Recording a value does not allocate: the buckets are
+ * preallocated, every power of two is divided into 16 linear sub-buckets, which limits the error of the percentiles
+ * to about 6%. The maximum is exact.
+ */
+public final class LatencyHistogram {
+	
+	private static final int SUB_BUCKET_BITS = 4;
+	
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+	
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	
+	private final AtomicLong count = new AtomicLong();
+	
+	private final AtomicLong max = new AtomicLong();
+	
+	/**
+	 * Records a duration. Negative values are recorded as 0.
+	 * 
+	 * @param nanos
+	 *            duration in nanoseconds
+	 */
+	public void record(long nanos) {
+		long value = Math.max(nanos, 0);
+		counts.incrementAndGet(index(value));
+		count.incrementAndGet();
+		long currentMax;
+		while (value > (currentMax = max.get()) && !max.compareAndSet(currentMax, value)) {
+			// retry until the maximum is updated or another thread recorded a bigger value
+		}
+	}
+	
+	/**
+	 * @return the number of recorded values
+	 */
+	public long getCount() {
+		return count.get();
+	}
+	
+	/**
+	 * @return the biggest recorded value in nanoseconds
+	 */
+	public long getMax() {
+		return max.get();
+	}
+	
+	/**
+	 * @param percentile
+	 *            between 0 and 100 (e.g. 99 for the 99th percentile)
+	 * @return the lower bound of the bucket which contains the percentile in nanoseconds, 0 if nothing was recorded
+	 */
+	public long getPercentile(double percentile) {
+		long total = count.get();
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(lowerBound(i), getMax());
+			}
+		}
+		return getMax();
+	}
+	
+	static int index(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int highestBit = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (highestBit - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (highestBit - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+	
+	static long lowerBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int major = index / SUB_BUCKETS;
+		int subBucket = index % SUB_BUCKETS;
+		return (long) (SUB_BUCKETS + subBucket) << (major - 1);
+	}
+}
@@ -0,0 +1,210 @@
+package de.saxsys.javafx.test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in tracking of the listeners which the testrunner and the ServiceWrapper register, enabled by the system
+ * property {@value #PROPERTY}. Every listener which is still attached when its test ends is reported on stderr and,
+ * with {@value #FAIL_PROPERTY}, fails the test. With {@value #REACHABILITY_PROPERTY} the objects passed to
+ * {@link #trackReachability(Object)} (e.g. the wrapped Services) are checked to become unreachable after the test.
+ * 
+ * Listeners which are registered outside of a test are not tracked.
+ */
+public final class LeakTracker {
+	
+	/** System property which enables the tracking of listeners. */
+	public static final String PROPERTY = "jfxrunner.leakTracking";
+	
+	/** System property which enables the reachability check of the tracked objects. */
+	public static final String REACHABILITY_PROPERTY = "jfxrunner.leakTracking.reachability";
+	
+	/** System property which lets tests with leaks fail. */
+	public static final String FAIL_PROPERTY = "jfxrunner.leakTracking.fail";
+	
+	static final boolean ENABLED = Boolean.getBoolean(PROPERTY) || Boolean.getBoolean(REACHABILITY_PROPERTY);
+	
+	private static final boolean REACHABILITY_ENABLED = Boolean.getBoolean(REACHABILITY_PROPERTY);
+	
+	/** Attached listeners and the test which registered them. */
+	private static final Map<Registration, RunningTest> ATTACHED = new ConcurrentHashMap<>();
+	
+	/** Objects which have to become unreachable and the test which created them. */
+	private static final Map<Reachability, RunningTest> TRACKED = new ConcurrentHashMap<>();
+	
+	private LeakTracker() {
+	}
+	
+	/**
+	 * Records that the listener was added to the observable in the current test.
+	 * 
+	 * @param observable
+	 *            to which the listener was added
+	 * @param listener
+	 *            which was added
+	 */
+	public static void added(Object observable, Object listener) {
+		if (!ENABLED) {
+			return;
+		}
+		RunningTest test = RunningTest.current();
+		if (test != null) {
+			ATTACHED.put(new Registration(observable, listener), test);
+		}
+	}
+	
+	/**
+	 * Records that the listener was removed from the observable.
+	 * 
+	 * @param observable
+	 *            from which the listener was removed
+	 * @param listener
+	 *            which was removed
+	 */
+	public static void removed(Object observable, Object listener) {
+		if (!ENABLED) {
+			return;
+		}
+		ATTACHED.remove(new Registration(observable, listener));
+	}
+	
+	/**
+	 * Records an object which has to become unreachable when the current test ends, e.g. a Service or a scene node
+	 * which was created by the test. Only checked with {@value #REACHABILITY_PROPERTY}.
+	 * 
+	 * @param object
+	 *            which must not be referenced after the test
+	 */
+	public static void trackReachability(Object object) {
+		if (!REACHABILITY_ENABLED) {
+			return;
+		}
+		RunningTest test = RunningTest.current();
+		if (test != null) {
+			TRACKED.put(new Reachability(object), test);
+		}
+	}
+	
+	/**
+	 * Forgets the listeners and objects of a test which is not reported, e.g. because it timed out.
+	 * 
+	 * @param test
+	 *            which is finished
+	 */
+	static void discard(RunningTest test) {
+		ATTACHED.values().removeIf(registeredBy -> registeredBy == test);
+		TRACKED.values().removeIf(createdBy -> createdBy == test);
+	}
+	
+	/**
+	 * Reports the listeners of the test which are still attached and the tracked objects which are still reachable.
+	 * Fails the test, if {@value #FAIL_PROPERTY} is set. Has to be called outside of the JavaFX-thread, after the
+	 * Services of the test were cleaned up (see {@link ServiceCleanup}), as the check waits for the garbage collector.
+	 * 
+	 * @param test
+	 *            which is finished
+	 * @param mayFail
+	 *            <code>false</code> if the test failed already
+	 */
+	static void report(RunningTest test, boolean mayFail) {
+		if (!ENABLED) {
+			return;
+		}
+		// listeners are removed by work which is still queued in the JavaFX-thread
+		FxDispatcher.flush(1000);
+		
+		List<String> leaks = new ArrayList<>();
+		ATTACHED.entrySet().removeIf(entry -> {
+			if (entry.getValue() != test) {
+				return false;
+			}
+			leaks.add("listener " + entry.getKey());
+			return true;
+		});
+		
+		List<Reachability> tracked = new ArrayList<>();
+		TRACKED.entrySet().removeIf(entry -> entry.getValue() == test && tracked.add(entry.getKey()));
+		for (int attempt = 0; attempt < 5 && tracked.stream().anyMatch(Reachability::isReachable); attempt++) {
+			System.gc();
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		for (Reachability reachability : tracked) {
+			if (reachability.isReachable()) {
+				leaks.add("reachable " + reachability);
+			}
+		}
+		
+		if (leaks.isEmpty()) {
+			return;
+		}
+		String message = String.format("%s leaked %d objects:%n  %s", test.getDescription().getDisplayName(),
+				leaks.size(), String.join(System.lineSeparator() + "  ", leaks));
+		System.err.println(message);
+		if (mayFail && Boolean.getBoolean(FAIL_PROPERTY)) {
+			throw new AssertionError(message);
+		}
+	}
+	
+	/**
+	 * A listener on an observable, compared by identity.
+	 */
+	private static final class Registration {
+		
+		private final Object observable;
+		
+		private final Object listener;
+		
+		Registration(Object observable, Object listener) {
+			this.observable = observable;
+			this.listener = listener;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Registration)) {
+				return false;
+			}
+			Registration other = (Registration) obj;
+			return observable == other.observable && listener == other.listener;
+		}
+		
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(observable) + System.identityHashCode(listener);
+		}
+		
+		@Override
+		public String toString() {
+			return listener.getClass().getName() + " on " + observable;
+		}
+	}
+	
+	private static final class Reachability {
+		
+		private final WeakReference<Object> reference;
+		
+		private final String description;
+		
+		Reachability(Object object) {
+			reference = new WeakReference<>(object);
+			description = object.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(object));
+		}
+		
+		boolean isReachable() {
+			return reference.get() != null;
+		}
+		
+		@Override
+		public String toString() {
+			return description;
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package de.saxsys.javafx.test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails a test of the {@link JfxRunner} if the thread of the test method and the JavaFX-thread allocate more bytes
+ * than the budget while the test method runs. Needs a JVM which supports
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface MaxAllocatedBytes {
+	
+	/**
+	 * @return the budget in bytes
+	 */
+	long value();
+}
@@ -0,0 +1,20 @@
+package de.saxsys.javafx.test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails a test of the {@link JfxRunner} if the test method takes more wall-clock time than the budget. Befores and
+ * afters are not measured.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface MaxDuration {
+	
+	/**
+	 * @return the budget in milliseconds
+	 */
+	long value();
+}
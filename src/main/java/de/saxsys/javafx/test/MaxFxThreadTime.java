@@ -0,0 +1,23 @@
+package de.saxsys.javafx.test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails a test of the {@link JfxRunner} if the test method occupies the JavaFX-thread for longer than the budget. A
+ * test in the JavaFX-thread occupies it for its whole duration, any other test with the work which it submits through
+ * the testrunner, e.g. the calls of the ServiceWrapper or an {@link FxProxy}. The wall time is measured, so the time
+ * in which the work blocks the JavaFX-thread counts, too. The work of other tests, which run at the same time in the
+ * parallel mode, and work which is submitted with Platform.runLater directly are not included.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface MaxFxThreadTime {
+	
+	/**
+	 * @return the budget in milliseconds
+	 */
+	long value();
+}
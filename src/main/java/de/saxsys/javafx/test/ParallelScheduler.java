@@ -0,0 +1,116 @@
+package de.saxsys.javafx.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * Scheduler of the parallel mode of the {@link JfxRunner}. The children are scheduled in the calling thread, the
+ * {@link JfxRunner} hands the test methods over to {@link #submit(Runnable)} or {@link #submitToFxLane(Runnable)}.
+ * {@link #finished()} blocks until all submitted test methods are done. The {@link JfxParallelSuite} submits its
+ * classes in the same way.
+ */
+class ParallelScheduler implements RunnerScheduler {
+	
+	private final int threads;
+	
+	private final List<Future<?>> submitted = new ArrayList<>();
+	
+	private ExecutorService pool;
+	
+	private ExecutorService fxLane;
+	
+	ParallelScheduler(int threads) {
+		this.threads = threads;
+	}
+	
+	@Override
+	public void schedule(Runnable childStatement) {
+		childStatement.run();
+	}
+	
+	/**
+	 * Runs a test method on the bounded pool.
+	 */
+	synchronized void submit(Runnable test) {
+		if (pool == null) {
+			pool = Executors.newFixedThreadPool(threads, namedDaemonThreads("jfxrunner-parallel-"));
+		}
+		submitted.add(pool.submit(test));
+	}
+	
+	/**
+	 * Runs a test method in a single lane, so that {@link TestInJfxThread} methods are handed to the JavaFX-thread
+	 * one after another without blocking the scheduling thread.
+	 */
+	synchronized void submitToFxLane(Runnable test) {
+		if (fxLane == null) {
+			fxLane = Executors.newSingleThreadExecutor(namedDaemonThreads("jfxrunner-fx-lane-"));
+		}
+		submitted.add(fxLane.submit(test));
+	}
+	
+	@Override
+	public void finished() {
+		List<Future<?>> toAwait;
+		synchronized (this) {
+			toAwait = new ArrayList<>(submitted);
+			submitted.clear();
+		}
+		// every test method has to be finished before the runner reports the class as finished
+		Throwable failure = null;
+		try {
+			for (Future<?> future : toAwait) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					if (failure == null) {
+						failure = e.getCause();
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			shutdown();
+		}
+		if (failure != null) {
+			throw new RuntimeException(failure);
+		}
+	}
+	
+	private synchronized void shutdown() {
+		if (pool != null) {
+			pool.shutdown();
+			pool = null;
+		}
+		if (fxLane != null) {
+			fxLane.shutdown();
+			fxLane = null;
+		}
+	}
+	
+	/**
+	 * @return a factory of virtual threads if they are enabled (see {@link VirtualThreads}), otherwise of daemon
+	 *         platform threads
+	 */
+	private static ThreadFactory namedDaemonThreads(String prefix) {
+		ThreadFactory virtualThreads = VirtualThreads.factoryIfEnabled(prefix);
+		if (virtualThreads != null) {
+			return virtualThreads;
+		}
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
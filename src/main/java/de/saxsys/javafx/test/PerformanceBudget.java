@@ -0,0 +1,123 @@
+package de.saxsys.javafx.test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
+
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.Statement;
+
+/**
+ * Statement which measures a test method and fails it, if it exceeds the budgets of {@link MaxDuration},
+ * {@link MaxFxThreadTime} or {@link MaxAllocatedBytes}.
+ */
+final class PerformanceBudget extends Statement {
+	
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+	
+	private final Statement next;
+	
+	private final MaxDuration maxDuration;
+	
+	private final MaxFxThreadTime maxFxThreadTime;
+	
+	private final MaxAllocatedBytes maxAllocatedBytes;
+	
+	private PerformanceBudget(Statement next, MaxDuration maxDuration, MaxFxThreadTime maxFxThreadTime,
+			MaxAllocatedBytes maxAllocatedBytes) {
+		this.next = next;
+		this.maxDuration = maxDuration;
+		this.maxFxThreadTime = maxFxThreadTime;
+		this.maxAllocatedBytes = maxAllocatedBytes;
+	}
+	
+	/**
+	 * @return the statement wrapped with the budgets of the method, or the statement itself if the method has none
+	 */
+	static Statement wrap(FrameworkMethod method, Statement next) {
+		MaxDuration maxDuration = method.getAnnotation(MaxDuration.class);
+		MaxFxThreadTime maxFxThreadTime = method.getAnnotation(MaxFxThreadTime.class);
+		MaxAllocatedBytes maxAllocatedBytes = method.getAnnotation(MaxAllocatedBytes.class);
+		if (maxDuration == null && maxFxThreadTime == null && maxAllocatedBytes == null) {
+			return next;
+		}
+		return new PerformanceBudget(next, maxDuration, maxFxThreadTime, maxAllocatedBytes);
+	}
+	
+	@Override
+	public void evaluate() throws Throwable {
+		long testThread = Thread.currentThread().getId();
+		Thread fx = SingleJfxApplication.getFxThread();
+		long fxThread = fx != null ? fx.getId() : -1;
+		
+		RunningTest test = RunningTest.current();
+		boolean inFxThread = Platform.isFxApplicationThread();
+		if (maxFxThreadTime != null && test != null) {
+			test.measureFxThreadTime();
+		}
+		long fxTimeStart = test != null ? test.getFxThreadTime() : -1;
+		long allocatedStart = maxAllocatedBytes != null ? allocatedBytes(testThread, fxThread) : -1;
+		long start = System.nanoTime();
+		
+		next.evaluate();
+		
+		long duration = System.nanoTime() - start;
+		List<String> violations = new ArrayList<>();
+		if (maxDuration != null && TimeUnit.NANOSECONDS.toMillis(duration) > maxDuration.value()) {
+			violations.add(String.format("@MaxDuration: took %d ms, budget %d ms",
+					TimeUnit.NANOSECONDS.toMillis(duration), maxDuration.value()));
+		}
+		if (maxFxThreadTime != null) {
+			long fxTime;
+			if (inFxThread) {
+				fxTime = duration;
+			} else if (test != null) {
+				// the work which the test waited for records its run time after it completed the wait
+				FxDispatcher.flush(1000);
+				fxTime = test.getFxThreadTime() - fxTimeStart;
+			} else {
+				fxTime = -1;
+				System.err.println("@MaxFxThreadTime is not checked, the test does not run in the JfxRunner");
+			}
+			if (TimeUnit.NANOSECONDS.toMillis(fxTime) > maxFxThreadTime.value()) {
+				violations.add(String.format("@MaxFxThreadTime: occupied the JavaFX-thread for %d ms, budget %d ms",
+						TimeUnit.NANOSECONDS.toMillis(fxTime), maxFxThreadTime.value()));
+			}
+		}
+		if (maxAllocatedBytes != null) {
+			long allocated = allocatedBytes(testThread, fxThread);
+			if (allocatedStart < 0 || allocated < 0) {
+				System.err.println("@MaxAllocatedBytes is not checked, the allocated bytes of threads are not available");
+			} else if (allocated - allocatedStart > maxAllocatedBytes.value()) {
+				violations.add(String.format("@MaxAllocatedBytes: allocated %d bytes, budget %d bytes",
+						allocated - allocatedStart, maxAllocatedBytes.value()));
+			}
+		}
+		
+		if (!violations.isEmpty()) {
+			throw new AssertionError("Performance budget exceeded: " + String.join(", ", violations));
+		}
+	}
+	
+	/**
+	 * @return the sum of the allocated bytes of both threads, or -1 if they are not available
+	 */
+	private static long allocatedBytes(long testThread, long fxThread) {
+		if (!(THREADS instanceof com.sun.management.ThreadMXBean)) {
+			return -1;
+		}
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+		if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+			return -1;
+		}
+		long allocated = threads.getThreadAllocatedBytes(testThread);
+		if (fxThread >= 0 && fxThread != testThread) {
+			allocated += threads.getThreadAllocatedBytes(fxThread);
+		}
+		return allocated;
+	}
+}
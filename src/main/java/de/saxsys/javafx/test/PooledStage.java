@@ -0,0 +1,15 @@
+package de.saxsys.javafx.test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects a shown {@link javafx.stage.Stage} of the {@link StagePool} into a field of a test class of the
+ * {@link JfxRunner}. The stage is injected before the befores and returned to the pool after the afters.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface PooledStage {
+}
@@ -0,0 +1,25 @@
+package de.saxsys.javafx.test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the test methods of a {@link JfxRunner} test class concurrently. Methods without {@link TestInJfxThread} are
+ * executed on a bounded pool, methods with {@link TestInJfxThread} are still executed one after another in the
+ * JavaFX-thread.
+ * 
+ * The parallel mode can also be enabled for all test classes with the system property
+ * {@value JfxRunner#PARALLEL_PROPERTY}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface RunInParallel {
+	
+	/**
+	 * @return the maximum number of test methods which run at the same time. A value smaller than 1 uses the number
+	 *         of available processors.
+	 */
+	int threads() default 0;
+}
@@ -0,0 +1,129 @@
+package de.saxsys.javafx.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.runner.Description;
+
+/**
+ * The test method which is executed by the current thread. The {@link JfxRunner} enters the test in the thread which
+ * runs the test and in the thread which dispatches it, so work which these threads submit to the JavaFX-thread can be
+ * attributed to the test.
+ */
+final class RunningTest {
+	
+	private static final ThreadLocal<RunningTest> CURRENT = new ThreadLocal<>();
+	
+	/** All tests which are executed at the moment. */
+	private static final Set<RunningTest> ACTIVE = ConcurrentHashMap.newKeySet();
+	
+	private final Description description;
+	
+	private final FxQueueStatistics methodQueueStatistics;
+	
+	private final FxQueueStatistics classQueueStatistics;
+	
+	private final List<FxStall> stalls = new CopyOnWriteArrayList<>();
+	
+	/** Whether the run time of the work which the test submits is measured, see {@link MaxFxThreadTime}. */
+	private volatile boolean measuringFxThreadTime;
+	
+	private final AtomicLong fxThreadNanos = new AtomicLong();
+	
+	RunningTest(Description description) {
+		this.description = description;
+		if (FxQueueStatistics.ENABLED) {
+			methodQueueStatistics = FxQueueStatistics.forMethod(description);
+			classQueueStatistics = FxQueueStatistics.forClass(description);
+		} else {
+			methodQueueStatistics = null;
+			classQueueStatistics = null;
+		}
+	}
+	
+	/**
+	 * @return the test of the current thread or <code>null</code> if the thread does not execute a test
+	 */
+	static RunningTest current() {
+		return CURRENT.get();
+	}
+	
+	/**
+	 * Sets the test of the current thread.
+	 * 
+	 * @return the test the thread executed before, which has to be restored with {@link #restore(RunningTest)}
+	 */
+	RunningTest enter() {
+		RunningTest previous = CURRENT.get();
+		CURRENT.set(this);
+		return previous;
+	}
+	
+	/**
+	 * Marks the test as executed until {@link #deactivate()} is called.
+	 */
+	void activate() {
+		ACTIVE.add(this);
+	}
+	
+	void deactivate() {
+		ACTIVE.remove(this);
+	}
+	
+	/**
+	 * Attaches the stall to all tests which are executed at the moment.
+	 */
+	static void recordStall(FxStall stall) {
+		for (RunningTest test : ACTIVE) {
+			test.stalls.add(stall);
+		}
+	}
+	
+	List<FxStall> getStalls() {
+		return new ArrayList<>(stalls);
+	}
+	
+	static void restore(RunningTest previous) {
+		if (previous == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(previous);
+		}
+	}
+	
+	Description getDescription() {
+		return description;
+	}
+	
+	/**
+	 * Measures the run time of the work which the test submits through the {@link FxDispatcher} from now on.
+	 */
+	void measureFxThreadTime() {
+		measuringFxThreadTime = true;
+	}
+	
+	boolean isMeasuringFxThreadTime() {
+		return measuringFxThreadTime;
+	}
+	
+	void recordFxThreadTime(long nanos) {
+		fxThreadNanos.addAndGet(nanos);
+	}
+	
+	/**
+	 * @return the run time in nanoseconds of the work which the test submitted through the {@link FxDispatcher} since
+	 *         {@link #measureFxThreadTime()}
+	 */
+	long getFxThreadTime() {
+		return fxThreadNanos.get();
+	}
+	
+	void recordFxQueue(long submitted, long started, long finished) {
+		methodQueueStatistics.record(submitted, started, finished);
+		classQueueStatistics.record(submitted, started, finished);
+	}
+}
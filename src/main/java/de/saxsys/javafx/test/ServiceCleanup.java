@@ -0,0 +1,190 @@
+package de.saxsys.javafx.test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import javafx.concurrent.Worker;
+
+/**
+ * Cancels the Services which were wrapped in a test when the test ends or times out, so every test starts without the
+ * worker threads of the previous ones. After the cancellation the worker threads get the time of the system property
+ * {@value #TIMEOUT_PROPERTY} (in milliseconds, default 1000, 0 disables the cleanup) to finish their tasks; threads
+ * which are still busy afterwards are reported on stderr. The threads are known from the tasks which the wrapper
+ * started (see {@link WorkerThreads}), whether they run in an executor of the Service or in the shared pool of JavaFX.
+ * 
+ * The JavaFX-thread never waits: a test in the JavaFX-thread is cleaned up by the thread which dispatched it, after
+ * the test released the JavaFX-thread.
+ */
+public final class ServiceCleanup {
+	
+	/** System property which defines how long to wait for the worker threads in milliseconds. */
+	public static final String TIMEOUT_PROPERTY = "jfxrunner.serviceCleanup.timeout";
+	
+	static final long TIMEOUT = Long.getLong(TIMEOUT_PROPERTY, 1000);
+	
+	/** The Services and their busy worker threads of the running tests. */
+	private static final Map<RunningTest, Queue<Tracked>> TRACKED = new ConcurrentHashMap<>();
+	
+	private ServiceCleanup() {
+	}
+	
+	/**
+	 * @return whether the Services are cleaned up after the tests
+	 */
+	public static boolean isEnabled() {
+		return TIMEOUT > 0;
+	}
+	
+	/**
+	 * Registers the Service for a cleanup at the end of the current test. Services which are created outside of a test
+	 * are not cleaned up.
+	 * 
+	 * @param worker
+	 *            the Service
+	 * @param workerThreads
+	 *            the threads which currently run a task of the Service, updated by the caller
+	 */
+	public static void register(Worker<?> worker, WorkerThreads workerThreads) {
+		if (!isEnabled()) {
+			return;
+		}
+		RunningTest test = RunningTest.current();
+		if (test != null) {
+			TRACKED.computeIfAbsent(test, t -> new ConcurrentLinkedQueue<>()).add(new Tracked(worker, workerThreads));
+		}
+	}
+	
+	/**
+	 * Cancels the running Services of the test and waits for their worker threads. The Services are cancelled after
+	 * the work which the test submitted to the JavaFX-thread before, e.g. a start. Has to be called outside of the
+	 * JavaFX-thread.
+	 * 
+	 * @param test
+	 *            which is finished
+	 */
+	static void cleanUp(RunningTest test) {
+		Queue<Tracked> tracked = TRACKED.remove(test);
+		if (tracked == null) {
+			return;
+		}
+		FxDispatcher.runLater(() -> cancel(tracked));
+		awaitWorkerThreads(test, tracked);
+	}
+	
+	/**
+	 * Cancels the running Services of a test in the JavaFX-thread without waiting, for a test which timed out and
+	 * whose dispatching thread does not wait anymore.
+	 * 
+	 * @param test
+	 *            which is finished
+	 */
+	static void cancel(RunningTest test) {
+		Queue<Tracked> tracked = TRACKED.remove(test);
+		if (tracked != null) {
+			cancel(tracked);
+		}
+	}
+	
+	private static void cancel(Queue<Tracked> tracked) {
+		for (Tracked service : tracked) {
+			if (service.worker.isRunning()) {
+				service.worker.cancel();
+			}
+		}
+	}
+	
+	private static void awaitWorkerThreads(RunningTest test, Queue<Tracked> tracked) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT);
+		try {
+			for (Tracked service : tracked) {
+				service.workerThreads.await(deadline);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		
+		List<Thread> busy = new ArrayList<>();
+		for (Tracked service : tracked) {
+			busy.addAll(service.workerThreads.busy());
+		}
+		if (busy.isEmpty()) {
+			return;
+		}
+		StringBuilder message = new StringBuilder(String.format(
+				"%s: %d worker threads did not stop within %d ms after their Services were cancelled:",
+				test.getDescription().getDisplayName(), busy.size(), TIMEOUT));
+		for (Thread thread : busy) {
+			message.append(System.lineSeparator()).append("  ").append(thread.getName());
+			for (StackTraceElement element : thread.getStackTrace()) {
+				message.append(System.lineSeparator()).append("    at ").append(element);
+			}
+		}
+		System.err.println(message);
+	}
+	
+	private static final class Tracked {
+		
+		private final Worker<?> worker;
+		
+		private final WorkerThreads workerThreads;
+		
+		Tracked(Worker<?> worker, WorkerThreads workerThreads) {
+			this.worker = worker;
+			this.workerThreads = workerThreads;
+		}
+	}
+	
+	/**
+	 * The threads which currently run a task of a Service. The cleanup waits until the last one finished its task.
+	 */
+	public static final class WorkerThreads {
+		
+		private final Set<Thread> threads = new HashSet<>();
+		
+		/**
+		 * @param command
+		 *            a task of the Service
+		 * @return the command, which records the thread that runs it while it runs
+		 */
+		public Runnable track(Runnable command) {
+			return () -> {
+				Thread thread = Thread.currentThread();
+				started(thread);
+				try {
+					command.run();
+				} finally {
+					finished(thread);
+				}
+			};
+		}
+		
+		private synchronized void started(Thread thread) {
+			threads.add(thread);
+		}
+		
+		private synchronized void finished(Thread thread) {
+			threads.remove(thread);
+			if (threads.isEmpty()) {
+				notifyAll();
+			}
+		}
+		
+		synchronized void await(long deadline) throws InterruptedException {
+			long remaining;
+			while (!threads.isEmpty() && (remaining = deadline - System.nanoTime()) > 0) {
+				TimeUnit.NANOSECONDS.timedWait(this, remaining);
+			}
+		}
+		
+		synchronized List<Thread> busy() {
+			return new ArrayList<>(threads);
+		}
+	}
+}
@@ -1,14 +1,10 @@
 package de.saxsys.javafx.test;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
@@ -23,43 +19,110 @@ public class SingleJfxApplication extends Application {
     /** The lock that guarantees that only one JavaFX thread will be started. */
     private static final ReentrantLock LOCK = new ReentrantLock();
 
-    /** Started flag. */
-    private static AtomicBoolean started = new AtomicBoolean();
+    /** Completed by {@link #start(Stage)} or completed exceptionally if the launch failed. */
+    private static final CompletableFuture<Void> STARTED = new CompletableFuture<>();
+
+    /** System property which enables the headless boot mode for all test classes. */
+    public static final String HEADLESS_PROPERTY = "jfxrunner.headless";
+
+    /** The glass platform of the headless boot mode. */
+    private static final String MONOCLE_PLATFORM_FACTORY = "com.sun.glass.ui.monocle.MonoclePlatformFactory";
+
+    /** Launched flag, guarded by {@link #LOCK}. */
+    private static boolean launched;
+
+    /** The JavaFX application thread. */
+    private static volatile Thread fxThread;
 
     /**
-     * Start JavaFx.
+     * Start JavaFx. Blocks until the toolkit is started or the launch failed.
      * 
      * @throws InitializationError
-     * @throws InterruptedException
+     *             if JavaFX could not be launched
      */
     public static void startJavaFx() throws InitializationError {
-        try {
-            // Lock or wait. This gives another call to this method time to
-            // finish
-            // and release the lock before another one has a go
-            LOCK.lock();
+        startJavaFx(false);
+    }
 
-            if (!started.get()) {
-                // start the JavaFX application
-                final ExecutorService executor = Executors.newSingleThreadExecutor();
-                Future<?> jfxLaunchFuture = executor.submit(() -> SingleJfxApplication.launch());
+    /**
+     * Start JavaFx. Blocks until the toolkit is started or the launch failed. The toolkit is started only once per
+     * JVM, so the first call decides whether it runs headless.
+     * 
+     * @param headless
+     *            whether the toolkit should be started with the headless glass platform and software rendering. The
+     *            headless mode is also used if the system property {@value #HEADLESS_PROPERTY} is set.
+     * @throws InitializationError
+     *             if JavaFX could not be launched
+     */
+    public static void startJavaFx(boolean headless) throws InitializationError {
+        // Lock or wait. This gives another call to this method time to finish
+        // and release the lock before another one has a go
+        LOCK.lock();
+        try {
+            if (!launched) {
+                launched = true;
+                if (headless || Boolean.getBoolean(HEADLESS_PROPERTY)) {
+                    configureHeadless();
+                }
+                JfxBootMetrics.launchRequested();
 
-                while (!started.get()) {
+                // Application.launch() blocks until the application exits
+                Thread launcher = new Thread(() -> {
                     try {
-                        jfxLaunchFuture.get(1, TimeUnit.MILLISECONDS);
-                    } catch (InterruptedException | TimeoutException e) {
-                        // continue waiting until success or error
+                        SingleJfxApplication.launch();
+                    } catch (Throwable e) {
+                        STARTED.completeExceptionally(e);
                     }
-                    Thread.yield();
-                }
+                }, "jfxrunner-launcher");
+                launcher.setDaemon(true);
+                launcher.start();
             }
+            STARTED.get();
         } catch (ExecutionException e) {
+            if (JfxBootMetrics.isHeadless()) {
+                throw new InitializationError(new IllegalStateException(
+                        "JavaFX could not be started with the headless Monocle platform. The version of Monocle has to "
+                                + "match the JavaFX version (org.testfx:openjfx-monocle 8u76-b04 for JavaFX 8, "
+                                + "jdk-11+26 for JavaFX 11). Remove @HeadlessJfx and " + HEADLESS_PROPERTY
+                                + " to start JavaFX with the default platform.", e.getCause()));
+            }
+            throw new InitializationError(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new InitializationError(e);
         } finally {
             LOCK.unlock();
         }
     }
 
+    /**
+     * Configures the Monocle glass platform with software rendering. If Monocle is not on the classpath or can not be
+     * loaded with this JavaFX version the toolkit is started with the default platform. If Monocle is loaded but the
+     * toolkit does not start with it, {@link #startJavaFx(boolean)} fails, as JavaFX can only be launched once per
+     * JVM.
+     */
+    private static void configureHeadless() {
+        try {
+            Class.forName(MONOCLE_PLATFORM_FACTORY);
+        } catch (ClassNotFoundException | LinkageError e) {
+            System.err.println("The headless JavaFX mode needs the Monocle glass platform (" + MONOCLE_PLATFORM_FACTORY
+                    + ") of this JavaFX version on the classpath, e.g. org.testfx:openjfx-monocle (" + e
+                    + "). JavaFX is started with the default platform.");
+            return;
+        }
+        System.setProperty("glass.platform", "Monocle");
+        System.setProperty("monocle.platform", "Headless");
+        System.setProperty("prism.order", "sw");
+        JfxBootMetrics.headless();
+    }
+
+    /**
+     * @return the JavaFX application thread, or <code>null</code> if JavaFX is not started
+     */
+    public static Thread getFxThread() {
+        return fxThread;
+    }
+
     /**
      * Launch.
      */
@@ -68,13 +131,28 @@ public class SingleJfxApplication extends Application {
     }
 
     /**
-     * An empty start method.
+     * Signals that the toolkit is started, hands the stage to the {@link StagePool}, preloads the caches if requested (see
+     * {@link JfxWarmup}) and measures the time until the first pulse.
      *
      * @param stage
      *            The stage
      */
     @Override
     public void start(final Stage stage) {
-        started.set(Boolean.TRUE);
+        JfxBootMetrics.toolkitReady();
+        fxThread = Thread.currentThread();
+        FxStallDetector.startIfEnabled(fxThread);
+        StagePool.initialize(stage);
+        if (JfxWarmup.isPreloadEnabled()) {
+            JfxWarmup.preload();
+        }
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                JfxBootMetrics.firstPulse();
+                stop();
+            }
+        }.start();
+        STARTED.complete(null);
     }
-}
\ No newline at end of file
+}
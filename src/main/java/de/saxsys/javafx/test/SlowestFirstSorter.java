@@ -0,0 +1,26 @@
+package de.saxsys.javafx.test;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Sorter;
+
+/**
+ * Orders the tests by the durations of the {@link TestTimings}, the slowest first, so a parallel pool does not end with
+ * a long test that started last. Tests without a known duration run before all others, because they could be slow,
+ * too. The {@link JfxRunner} and the {@link JfxParallelSuite} apply the sorter themselves if the system property
+ * {@value TestTimings#SLOWEST_FIRST_PROPERTY} is set.
+ */
+public class SlowestFirstSorter extends Sorter {
+	
+	/**
+	 * @param timings
+	 *            durations of the previous runs
+	 */
+	public SlowestFirstSorter(TestTimings timings) {
+		super((a, b) -> Long.compare(duration(timings, b), duration(timings, a)));
+	}
+	
+	private static long duration(TestTimings timings, Description description) {
+		long duration = timings.getDuration(description);
+		return duration >= 0 ? duration : Long.MAX_VALUE;
+	}
+}
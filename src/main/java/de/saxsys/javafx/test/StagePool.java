@@ -0,0 +1,281 @@
+package de.saxsys.javafx.test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+/**
+ * Pool of stages which are shown once and reused by the tests, so a test doesn't pay for the native window, the peer
+ * and the first CSS pass of a new stage. The pool is filled with the primary stage and the number of stages of the
+ * system property {@value #SIZE_PROPERTY} (default 1) when the first stage is borrowed, so runs without
+ * {@link PooledStage}s don't create any stage; if it is empty, new stages are created.
+ * 
+ * The state of a stage is recorded when it enters the pool, after a stage without scene got a scene with an empty
+ * {@link StackPane} as root. A returned stage is reset to this state: its scene, the root and the stylesheets of the
+ * scene, the title, size, resizability and the maximized, iconified and full screen state are restored, a root which
+ * the pool created is replaced by a new empty one. The modality and the style can't be changed once a stage was
+ * shown, so they stay those of the recorded state.
+ * 
+ * @see PooledStage
+ */
+public final class StagePool {
+	
+	/** System property which defines the number of stages which are created when the pool is used first. */
+	public static final String SIZE_PROPERTY = "jfxrunner.stagePool.size";
+	
+	static final double WIDTH = 800;
+	
+	static final double HEIGHT = 600;
+	
+	/** Free stages, only accessed in the JavaFX-thread. */
+	private static final Deque<Stage> FREE = new ArrayDeque<>();
+	
+	/** Stage of the application, until it is added to the pool; only accessed in the JavaFX-thread. */
+	private static Stage primaryStage;
+	
+	/** The recorded states of the stages of the pool, only accessed in the JavaFX-thread. */
+	private static final Map<Stage, Snapshot> SNAPSHOTS = new IdentityHashMap<>();
+	
+	/** Whether the pool was filled, only accessed in the JavaFX-thread. */
+	private static boolean filled;
+	
+	private static final AtomicLong HITS = new AtomicLong();
+	
+	private static final AtomicLong MISSES = new AtomicLong();
+	
+	private static final AtomicLong RESETS = new AtomicLong();
+	
+	private static final AtomicLong RESET_NANOS = new AtomicLong();
+	
+	private StagePool() {
+	}
+	
+	/**
+	 * Keeps the primary stage for the pool, called in the JavaFX-thread when JavaFX starts.
+	 * 
+	 * @param stage
+	 *            the stage of the application
+	 */
+	static void initialize(Stage stage) {
+		primaryStage = stage;
+	}
+	
+	/**
+	 * Fills the pool when it is used first, called in the JavaFX-thread.
+	 */
+	private static void fill() {
+		if (filled) {
+			return;
+		}
+		filled = true;
+		int size = Integer.getInteger(SIZE_PROPERTY, 1);
+		if (size <= 0) {
+			return;
+		}
+		if (primaryStage != null) {
+			FREE.add(prepare(primaryStage));
+			primaryStage = null;
+		}
+		while (FREE.size() < size) {
+			FREE.add(prepare(new Stage()));
+		}
+	}
+	
+	/**
+	 * Borrows a stage of the pool, or a new one if the pool is empty. The stage is shown.
+	 * 
+	 * @return the stage, which has to be returned with {@link #release(Stage)}
+	 */
+	public static Stage borrow() {
+		return callInFx(() -> {
+			fill();
+			Stage stage = FREE.poll();
+			if (stage != null) {
+				HITS.incrementAndGet();
+			} else {
+				MISSES.incrementAndGet();
+				stage = prepare(new Stage());
+			}
+			stage.show();
+			return stage;
+		});
+	}
+	
+	/**
+	 * Resets the stage and returns it to the pool.
+	 * 
+	 * @param stage
+	 *            which was borrowed with {@link #borrow()}
+	 */
+	public static void release(Stage stage) {
+		callInFx(() -> {
+			long start = System.nanoTime();
+			prepare(stage);
+			RESET_NANOS.addAndGet(System.nanoTime() - start);
+			RESETS.incrementAndGet();
+			FREE.push(stage);
+			return null;
+		});
+	}
+	
+	/**
+	 * @return the share of the borrowed stages which came from the pool, between 0 and 1
+	 */
+	public static double getHitRate() {
+		long hits = HITS.get();
+		long total = hits + MISSES.get();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+	
+	/**
+	 * @return the number of borrowed stages which came from the pool
+	 */
+	public static long getHits() {
+		return HITS.get();
+	}
+	
+	/**
+	 * @return the number of borrowed stages which had to be created
+	 */
+	public static long getMisses() {
+		return MISSES.get();
+	}
+	
+	/**
+	 * @param unit
+	 *            of the result
+	 * @return the average time of a reset, or -1 if no stage was returned yet
+	 */
+	public static long getAverageResetTime(TimeUnit unit) {
+		long resets = RESETS.get();
+		return resets == 0 ? -1 : unit.convert(RESET_NANOS.get() / resets, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Injects a borrowed stage into every field of the test which is annotated with {@link PooledStage}.
+	 * 
+	 * @return the borrowed stages
+	 */
+	static List<Stage> inject(Object test) throws IllegalAccessException {
+		List<Stage> borrowed = new ArrayList<>();
+		for (Class<?> type = test.getClass(); type != Object.class; type = type.getSuperclass()) {
+			for (Field field : type.getDeclaredFields()) {
+				if (!field.isAnnotationPresent(PooledStage.class)) {
+					continue;
+				}
+				if (!field.getType().isAssignableFrom(Stage.class)) {
+					throw new IllegalArgumentException("@PooledStage field " + field + " is not of the type Stage");
+				}
+				Stage stage = borrow();
+				borrowed.add(stage);
+				field.setAccessible(true);
+				field.set(test, stage);
+			}
+		}
+		return borrowed;
+	}
+	
+	/**
+	 * Records the state of a stage which enters the pool, or restores it if it was recorded before. Called in the
+	 * JavaFX-thread.
+	 */
+	private static Stage prepare(Stage stage) {
+		Snapshot snapshot = SNAPSHOTS.get(stage);
+		if (snapshot == null) {
+			SNAPSHOTS.put(stage, new Snapshot(stage));
+		} else {
+			snapshot.restore(stage);
+		}
+		return stage;
+	}
+	
+	/**
+	 * The state of a stage when it entered the pool.
+	 */
+	private static final class Snapshot {
+		
+		private final Scene scene;
+		
+		private final Supplier<Parent> root;
+		
+		private final List<String> stylesheets;
+		
+		private final String title;
+		
+		private final double width;
+		
+		private final double height;
+		
+		private final boolean resizable;
+		
+		private final boolean maximized;
+		
+		private final boolean iconified;
+		
+		private final boolean fullScreen;
+		
+		Snapshot(Stage stage) {
+			if (stage.getScene() == null) {
+				stage.setScene(new Scene(new StackPane(), WIDTH, HEIGHT));
+				root = StackPane::new;
+			} else {
+				Parent initialRoot = stage.getScene().getRoot();
+				root = () -> initialRoot;
+			}
+			scene = stage.getScene();
+			// a stage which was never shown has no size yet, it gets the size of its scene
+			if (Double.isNaN(stage.getWidth())) {
+				stage.setWidth(scene.getWidth());
+			}
+			if (Double.isNaN(stage.getHeight())) {
+				stage.setHeight(scene.getHeight());
+			}
+			stylesheets = new ArrayList<>(scene.getStylesheets());
+			title = stage.getTitle();
+			width = stage.getWidth();
+			height = stage.getHeight();
+			resizable = stage.isResizable();
+			maximized = stage.isMaximized();
+			iconified = stage.isIconified();
+			fullScreen = stage.isFullScreen();
+		}
+		
+		void restore(Stage stage) {
+			if (stage.getScene() != scene) {
+				stage.setScene(scene);
+			}
+			scene.setRoot(root.get());
+			scene.getStylesheets().setAll(stylesheets);
+			stage.setTitle(title);
+			stage.setFullScreen(fullScreen);
+			stage.setIconified(iconified);
+			stage.setMaximized(maximized);
+			stage.setResizable(resizable);
+			stage.setWidth(width);
+			stage.setHeight(height);
+		}
+	}
+	
+	private static <T> T callInFx(Callable<T> callable) {
+		try {
+			return FxDispatcher.call(callable);
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
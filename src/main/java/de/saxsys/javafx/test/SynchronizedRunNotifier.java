@@ -0,0 +1,97 @@
+package de.saxsys.javafx.test;
+
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+/**
+ * {@link RunNotifier} which serializes all notifications to a delegate. The listeners of JUnit 4.11 (e.g. the ones of
+ * IDEs or surefire) are not thread-safe, so test methods which run concurrently have to report through this notifier.
+ * All instances which share the same delegate use the delegate as lock.
+ */
+class SynchronizedRunNotifier extends RunNotifier {
+	
+	private final RunNotifier delegate;
+	
+	SynchronizedRunNotifier(RunNotifier delegate) {
+		this.delegate = delegate;
+	}
+	
+	@Override
+	public void addListener(RunListener listener) {
+		synchronized (delegate) {
+			delegate.addListener(listener);
+		}
+	}
+	
+	@Override
+	public void removeListener(RunListener listener) {
+		synchronized (delegate) {
+			delegate.removeListener(listener);
+		}
+	}
+	
+	@Override
+	public void fireTestRunStarted(Description description) {
+		synchronized (delegate) {
+			delegate.fireTestRunStarted(description);
+		}
+	}
+	
+	@Override
+	public void fireTestRunFinished(Result result) {
+		synchronized (delegate) {
+			delegate.fireTestRunFinished(result);
+		}
+	}
+	
+	@Override
+	public void fireTestStarted(Description description) throws StoppedByUserException {
+		synchronized (delegate) {
+			delegate.fireTestStarted(description);
+		}
+	}
+	
+	@Override
+	public void fireTestFailure(Failure failure) {
+		synchronized (delegate) {
+			delegate.fireTestFailure(failure);
+		}
+	}
+	
+	@Override
+	public void fireTestAssumptionFailed(Failure failure) {
+		synchronized (delegate) {
+			delegate.fireTestAssumptionFailed(failure);
+		}
+	}
+	
+	@Override
+	public void fireTestIgnored(Description description) {
+		synchronized (delegate) {
+			delegate.fireTestIgnored(description);
+		}
+	}
+	
+	@Override
+	public void fireTestFinished(Description description) {
+		synchronized (delegate) {
+			delegate.fireTestFinished(description);
+		}
+	}
+	
+	@Override
+	public void pleaseStop() {
+		delegate.pleaseStop();
+	}
+	
+	@Override
+	public void addFirstListener(RunListener listener) {
+		synchronized (delegate) {
+			delegate.addFirstListener(listener);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package de.saxsys.javafx.test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+
+/**
+ * Runs only the test methods of one shard, so a suite can be split between several CI machines. The shards are
+ * balanced by the durations of the {@link TestTimings}: the known tests are assigned from the slowest to the fastest,
+ * each to the shard with the smallest total duration so far. Tests without a known duration are distributed by the
+ * hash of their name. All machines compute the same assignment, as long as they use the same timings file.
+ * 
+ * The {@link JfxRunner} applies the filter itself if the system properties {@value #INDEX_PROPERTY} (starting with 0)
+ * and {@value #COUNT_PROPERTY} are set.
+ */
+public class TestShardFilter extends Filter {
+	
+	/** System property which defines the shard of this run, starting with 0. */
+	public static final String INDEX_PROPERTY = "jfxrunner.shard.index";
+	
+	/** System property which defines the number of shards. */
+	public static final String COUNT_PROPERTY = "jfxrunner.shard.count";
+	
+	private final int index;
+	
+	private final int count;
+	
+	/** Shard of every test with a known duration. */
+	private final Map<String, Integer> assignment = new HashMap<>();
+	
+	/**
+	 * @param index
+	 *            of the shard which is run, starting with 0
+	 * @param count
+	 *            number of shards
+	 * @param timings
+	 *            durations of the previous runs
+	 */
+	public TestShardFilter(int index, int count, TestTimings timings) {
+		if (count < 1 || index < 0 || index >= count) {
+			throw new IllegalArgumentException("Invalid shard " + index + " of " + count);
+		}
+		this.index = index;
+		this.count = count;
+		
+		List<Map.Entry<String, Long>> tests = new ArrayList<>(timings.getDurations().entrySet());
+		tests.sort((a, b) -> {
+			int byDuration = Long.compare(b.getValue(), a.getValue());
+			return byDuration != 0 ? byDuration : a.getKey().compareTo(b.getKey());
+		});
+		long[] load = new long[count];
+		for (Map.Entry<String, Long> test : tests) {
+			int lightest = 0;
+			for (int shard = 1; shard < count; shard++) {
+				if (load[shard] < load[lightest]) {
+					lightest = shard;
+				}
+			}
+			load[lightest] += test.getValue();
+			assignment.put(test.getKey(), lightest);
+		}
+	}
+	
+	/**
+	 * @return the filter of the system properties {@value #INDEX_PROPERTY} and {@value #COUNT_PROPERTY}, or
+	 *         <code>null</code> if they are not set
+	 */
+	public static TestShardFilter fromProperties() {
+		Integer index = Integer.getInteger(INDEX_PROPERTY);
+		Integer count = Integer.getInteger(COUNT_PROPERTY);
+		if (index == null || count == null) {
+			return null;
+		}
+		return new TestShardFilter(index, count, TestTimings.load());
+	}
+	
+	@Override
+	public boolean shouldRun(Description description) {
+		if (description.isTest()) {
+			return shardOf(TestTimings.key(description)) == index;
+		}
+		for (Description child : description.getChildren()) {
+			if (shouldRun(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private int shardOf(String test) {
+		Integer shard = assignment.get(test);
+		return shard != null ? shard : Math.floorMod(test.hashCode(), count);
+	}
+	
+	@Override
+	public String describe() {
+		return "shard " + index + " of " + count;
+	}
+}
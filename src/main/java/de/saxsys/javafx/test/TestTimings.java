@@ -0,0 +1,165 @@
+package de.saxsys.javafx.test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.runner.Description;
+
+/**
+ * Durations of the test methods of previous runs, which are used to balance the {@link TestShardFilter} and to order
+ * the tests with the {@link SlowestFirstSorter}. If the system property {@value #FILE_PROPERTY} is set, the
+ * {@link JfxRunner} records the duration of every test method and merges it into this file after each test class.
+ * Share the file between the CI machines (e.g. as a cached artifact), so all shards see the same durations.
+ */
+public final class TestTimings {
+	
+	/** System property which defines the properties file of the durations. */
+	public static final String FILE_PROPERTY = "jfxrunner.timings.file";
+	
+	/** System property which lets the {@link JfxRunner} run the slowest tests first. */
+	public static final String SLOWEST_FIRST_PROPERTY = "jfxrunner.timings.slowestFirst";
+	
+	static final boolean ENABLED = System.getProperty(FILE_PROPERTY) != null;
+	
+	/** Durations of this run in milliseconds, which are not saved yet. */
+	private static final Map<String, Long> RECORDED = new ConcurrentHashMap<>();
+	
+	private static TestTimings loaded;
+	
+	private final Map<String, Long> durations;
+	
+	TestTimings(Map<String, Long> durations) {
+		this.durations = durations;
+	}
+	
+	/**
+	 * @return the durations of the file {@value #FILE_PROPERTY} at the start of this run, empty if there is none
+	 */
+	public static synchronized TestTimings load() {
+		if (loaded == null) {
+			Map<String, Long> durations = new HashMap<>();
+			if (ENABLED) {
+				Path file = file();
+				if (Files.exists(file)) {
+					try (InputStream in = Files.newInputStream(file)) {
+						read(in, durations);
+					} catch (IOException e) {
+						System.err.println("Could not read the test timings from " + file + ": " + e);
+					}
+				}
+			}
+			loaded = new TestTimings(Collections.unmodifiableMap(durations));
+		}
+		return loaded;
+	}
+	
+	/**
+	 * @param description
+	 *            of a test method or of a class or suite
+	 * @return the duration of the test method or the sum of the known durations of the children in milliseconds, -1 if
+	 *         none is known
+	 */
+	public long getDuration(Description description) {
+		if (description.isTest()) {
+			Long duration = durations.get(key(description));
+			return duration != null ? duration : -1;
+		}
+		long sum = -1;
+		for (Description child : description.getChildren()) {
+			long duration = getDuration(child);
+			if (duration >= 0) {
+				sum = Math.max(sum, 0) + duration;
+			}
+		}
+		return sum;
+	}
+	
+	Map<String, Long> getDurations() {
+		return durations;
+	}
+	
+	static String key(Description description) {
+		return description.getClassName() + "#" + description.getMethodName();
+	}
+	
+	static void record(Description description, long nanos) {
+		if (ENABLED) {
+			RECORDED.put(key(description), TimeUnit.NANOSECONDS.toMillis(nanos));
+		}
+	}
+	
+	/**
+	 * Merges the recorded durations into the file. The file is locked, so forks which finish at the same time don't
+	 * lose their durations.
+	 */
+	static synchronized void save() {
+		if (!ENABLED || RECORDED.isEmpty()) {
+			return;
+		}
+		Path file = file();
+		try {
+			if (file.getParent() != null) {
+				Files.createDirectories(file.getParent());
+			}
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE)) {
+				FileLock lock = channel.lock();
+				try {
+					merge(channel);
+				} finally {
+					lock.release();
+				}
+			}
+		} catch (IOException e) {
+			System.err.println("Could not write the test timings to " + file + ": " + e);
+		}
+	}
+	
+	private static void merge(FileChannel channel) throws IOException {
+		Map<String, Long> durations = new HashMap<>();
+		read(Channels.newInputStream(channel), durations);
+		for (String key : RECORDED.keySet()) {
+			durations.put(key, RECORDED.remove(key));
+		}
+		
+		Properties properties = new Properties();
+		for (Map.Entry<String, Long> entry : durations.entrySet()) {
+			properties.setProperty(entry.getKey(), Long.toString(entry.getValue()));
+		}
+		channel.truncate(0);
+		channel.position(0);
+		OutputStream out = Channels.newOutputStream(channel);
+		properties.store(out, "Durations of the test methods in milliseconds");
+		out.flush();
+	}
+	
+	private static void read(InputStream in, Map<String, Long> durations) throws IOException {
+		Properties properties = new Properties();
+		properties.load(in);
+		for (String key : properties.stringPropertyNames()) {
+			try {
+				durations.put(key, Long.parseLong(properties.getProperty(key).trim()));
+			} catch (NumberFormatException e) {
+				// ignore broken entries
+			}
+		}
+	}
+	
+	private static Path file() {
+		return Paths.get(System.getProperty(FILE_PROPERTY));
+	}
+}
@@ -0,0 +1,118 @@
+package de.saxsys.javafx.test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to the virtual threads of Java 21 and newer, while the testrunner is compiled for Java 8. With the system
+ * property {@value #PROPERTY} the {@link JfxRunner}, the {@link JfxParallelSuite} and the ServiceWrapper use virtual
+ * instead of platform threads; on older JVMs the property is ignored.
+ */
+public final class VirtualThreads {
+	
+	/** System property which enables the virtual threads. */
+	public static final String PROPERTY = "jfxrunner.virtualThreads";
+	
+	private static final Method OF_VIRTUAL = method(Thread.class, "ofVirtual");
+	
+	private static final Method NAME = method(builderClass(), "name", String.class, long.class);
+	
+	private static final Method FACTORY = method(builderClass(), "factory");
+	
+	private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = method(Executors.class,
+			"newVirtualThreadPerTaskExecutor");
+	
+	private static final boolean ENABLED = Boolean.getBoolean(PROPERTY) && checkAvailable();
+	
+	private VirtualThreads() {
+	}
+	
+	/**
+	 * @return whether the JVM supports virtual threads
+	 */
+	public static boolean isAvailable() {
+		return OF_VIRTUAL != null && NAME != null && FACTORY != null && NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+	}
+	
+	/**
+	 * @return whether virtual threads are enabled by {@value #PROPERTY} and supported by the JVM
+	 */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+	
+	/**
+	 * @return an executor which starts a new virtual thread for every task
+	 * @throws UnsupportedOperationException
+	 *             if the JVM does not support virtual threads
+	 */
+	public static ExecutorService newVirtualThreadPerTaskExecutor() {
+		if (!isAvailable()) {
+			throw new UnsupportedOperationException("Virtual threads need Java 21 or newer");
+		}
+		return (ExecutorService) invoke(NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR, null);
+	}
+	
+	/**
+	 * @param prefix
+	 *            of the thread names, which is followed by a counter
+	 * @return a factory of virtual threads
+	 * @throws UnsupportedOperationException
+	 *             if the JVM does not support virtual threads
+	 */
+	public static ThreadFactory factory(String prefix) {
+		if (!isAvailable()) {
+			throw new UnsupportedOperationException("Virtual threads need Java 21 or newer");
+		}
+		Object builder = invoke(OF_VIRTUAL, null);
+		builder = invoke(NAME, builder, prefix, 1L);
+		return (ThreadFactory) invoke(FACTORY, builder);
+	}
+	
+	/**
+	 * @param prefix
+	 *            of the thread names, which is followed by a counter
+	 * @return a factory of virtual threads if they are enabled, otherwise <code>null</code>
+	 */
+	static ThreadFactory factoryIfEnabled(String prefix) {
+		return ENABLED ? factory(prefix) : null;
+	}
+	
+	private static boolean checkAvailable() {
+		if (!isAvailable()) {
+			System.err.println("-D" + PROPERTY + " is ignored, virtual threads need Java 21 or newer");
+			return false;
+		}
+		return true;
+	}
+	
+	private static Class<?> builderClass() {
+		try {
+			// methods of the public interface, the builder implementations are not accessible
+			return Class.forName("java.lang.Thread$Builder");
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+	}
+	
+	private static Method method(Class<?> type, String name, Class<?>... parameterTypes) {
+		if (type == null) {
+			return null;
+		}
+		try {
+			return type.getMethod(name, parameterTypes);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+	
+	private static Object invoke(Method method, Object target, Object... arguments) {
+		try {
+			return method.invoke(target, arguments);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Could not call " + method, e);
+		}
+	}
+}
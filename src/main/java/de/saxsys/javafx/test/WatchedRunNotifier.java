@@ -0,0 +1,145 @@
+package de.saxsys.javafx.test;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+/**
+ * {@link RunNotifier} of a single test method in the JavaFX-thread which is watched by the {@link FxWatchdog}. When
+ * the test timed out, the notifier is detached from its delegate, so the notifications of the test which arrive after
+ * the timeout don't mess up the report of the following tests.
+ * 
+ * The finish of the test is held back until the thread which dispatched the test checked it outside of the
+ * JavaFX-thread, see {@link #finish(Check)}.
+ */
+class WatchedRunNotifier extends RunNotifier {
+	
+	private final RunNotifier delegate;
+	
+	private boolean started;
+	
+	private boolean completed;
+	
+	private boolean timedOut;
+	
+	private boolean failed;
+	
+	/** The test whose finish is held back, <code>null</code> if it did not finish (yet). */
+	private Description finished;
+	
+	WatchedRunNotifier(RunNotifier delegate) {
+		this.delegate = delegate;
+	}
+	
+	/**
+	 * Detaches the notifier if the test is not completed yet.
+	 * 
+	 * @return <code>true</code> if the test timed out, <code>false</code> if it was already completed
+	 */
+	synchronized boolean timeOut() {
+		if (completed) {
+			return false;
+		}
+		timedOut = true;
+		return true;
+	}
+	
+	/**
+	 * Marks the test as completed.
+	 * 
+	 * @return <code>true</code> if the test timed out before
+	 */
+	synchronized boolean complete() {
+		completed = true;
+		return timedOut;
+	}
+	
+	synchronized boolean isStarted() {
+		return started;
+	}
+	
+	/**
+	 * Runs the check of the finished test and reports its failure and the held back finish of the test. Does nothing
+	 * if the test timed out or did not finish.
+	 * 
+	 * @param check
+	 *            of the finished test
+	 */
+	void finish(Check check) {
+		Description description;
+		boolean mayFail;
+		synchronized (this) {
+			if (timedOut || finished == null) {
+				return;
+			}
+			description = finished;
+			mayFail = !failed;
+		}
+		try {
+			check.run(mayFail);
+		} catch (Throwable e) {
+			delegate.fireTestFailure(new Failure(description, e));
+		}
+		delegate.fireTestFinished(description);
+	}
+	
+	@Override
+	public synchronized void fireTestStarted(Description description) throws StoppedByUserException {
+		if (!timedOut) {
+			started = true;
+			delegate.fireTestStarted(description);
+		}
+	}
+	
+	@Override
+	public synchronized void fireTestFailure(Failure failure) {
+		if (!timedOut) {
+			failed = true;
+			delegate.fireTestFailure(failure);
+		}
+	}
+	
+	@Override
+	public synchronized void fireTestAssumptionFailed(Failure failure) {
+		if (!timedOut) {
+			failed = true;
+			delegate.fireTestAssumptionFailed(failure);
+		}
+	}
+	
+	@Override
+	public synchronized void fireTestIgnored(Description description) {
+		if (!timedOut) {
+			completed = true;
+			delegate.fireTestIgnored(description);
+		}
+	}
+	
+	@Override
+	public synchronized void fireTestFinished(Description description) {
+		if (!timedOut) {
+			completed = true;
+			finished = description;
+		}
+	}
+	
+	@Override
+	public void pleaseStop() {
+		delegate.pleaseStop();
+	}
+	
+	/**
+	 * A check of a finished test.
+	 */
+	interface Check {
+		
+		/**
+		 * @param mayFail
+		 *            <code>false</code> if the test failed already
+		 * @throws Throwable
+		 *             the failure of the test
+		 */
+		void run(boolean mayFail) throws Throwable;
+	}
+}
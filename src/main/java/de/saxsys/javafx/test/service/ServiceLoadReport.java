@@ -0,0 +1,140 @@
+package de.saxsys.javafx.test.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javafx.concurrent.Worker.State;
+
+import de.saxsys.javafx.test.LatencyHistogram;
+
+/**
+ * Result of a {@link ServiceLoadTest}. All latencies are measured from the call of {@link javafx.concurrent.Service#restart()}.
+ * 
+ * @author sialcasa
+ */
+public class ServiceLoadReport {
+	
+	final LatencyHistogram timeToRunning = new LatencyHistogram();
+	final LatencyHistogram timeToSucceeded = new LatencyHistogram();
+	final LatencyHistogram timeToFailed = new LatencyHistogram();
+	final LatencyHistogram fxQueueLatency = new LatencyHistogram();
+	
+	long elapsedNanos;
+	/** Updated in the UI-Thread while the load test waits. */
+	final AtomicLong cycles = new AtomicLong();
+	final AtomicLong cancelled = new AtomicLong();
+	long unfinished;
+	double fxThreadUtilization = -1;
+	
+	private final List<String> violations = new ArrayList<>();
+	
+	ServiceLoadReport() {
+	}
+	
+	/**
+	 * @param state
+	 *            RUNNING, SUCCEEDED or FAILED
+	 * @return the latencies until the given state was reached
+	 */
+	public LatencyHistogram getLatency(State state) {
+		switch (state) {
+			case RUNNING:
+				return timeToRunning;
+			case SUCCEEDED:
+				return timeToSucceeded;
+			case FAILED:
+				return timeToFailed;
+			default:
+				throw new IllegalArgumentException("No latencies are recorded for " + state);
+		}
+	}
+	
+	/**
+	 * @return the number of completed start/restart cycles
+	 */
+	public long getCycles() {
+		return cycles.get();
+	}
+	
+	/**
+	 * @return the number of cycles which ended with CANCELLED
+	 */
+	public long getCancelled() {
+		return cancelled.get();
+	}
+	
+	/**
+	 * @return the number of cycles which did not finish until the end of the load test
+	 */
+	public long getUnfinished() {
+		return unfinished;
+	}
+	
+	/**
+	 * @return completed cycles per second
+	 */
+	public double getThroughput() {
+		return elapsedNanos > 0 ? cycles.get() * 1e9 / elapsedNanos : 0;
+	}
+	
+	/**
+	 * @param unit
+	 *            of the result
+	 * @return the duration of the load test
+	 */
+	public long getElapsed(TimeUnit unit) {
+		return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * @return the share of the elapsed time the UI-Thread spent on the CPU (0 to 1), or -1 if the CPU time of
+	 *         threads can't be measured
+	 */
+	public double getFxThreadUtilization() {
+		return fxThreadUtilization;
+	}
+	
+	/**
+	 * @return the queue latency of probes which were posted to the UI-Thread during the load test
+	 */
+	public LatencyHistogram getFxQueueLatency() {
+		return fxQueueLatency;
+	}
+	
+	/**
+	 * @return the violated service level objectives of the {@link ServiceLoadTest}
+	 */
+	public List<String> getViolations() {
+		return Collections.unmodifiableList(violations);
+	}
+	
+	void addViolation(String violation) {
+		violations.add(violation);
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+				"%d cycles in %d ms (%.1f/s), %d cancelled, %d unfinished", getCycles(),
+				getElapsed(TimeUnit.MILLISECONDS), getThroughput(), getCancelled(), unfinished));
+		appendLatency(report, "RUNNING", timeToRunning);
+		appendLatency(report, "SUCCEEDED", timeToSucceeded);
+		appendLatency(report, "FAILED", timeToFailed);
+		appendLatency(report, "FX queue", fxQueueLatency);
+		report.append(String.format(Locale.ROOT, "%nFX thread utilization: %.0f%%", fxThreadUtilization * 100));
+		for (String violation : violations) {
+			report.append(String.format("%nSLO violated: %s", violation));
+		}
+		return report.toString();
+	}
+	
+	private static void appendLatency(StringBuilder report, String name, LatencyHistogram histogram) {
+		report.append(String.format(Locale.ROOT, "%n%-10s count %d, p50 %.2f ms, p99 %.2f ms, max %.2f ms", name,
+				histogram.getCount(), histogram.getPercentile(50) / 1e6, histogram.getPercentile(99) / 1e6,
+				histogram.getMax() / 1e6));
+	}
+}
@@ -0,0 +1,333 @@
+package de.saxsys.javafx.test.service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.concurrent.Service;
+import javafx.concurrent.Worker.State;
+
+import de.saxsys.javafx.test.FxDispatcher;
+import de.saxsys.javafx.test.LeakTracker;
+import de.saxsys.javafx.test.SingleJfxApplication;
+
+/**
+ * Load test for {@link Service}s through the {@link ServiceWrapper}. A number of Services is restarted in cycles
+ * concurrently, without a blocked thread per Service. The latencies until RUNNING, SUCCEEDED and FAILED are recorded,
+ * as well as the utilization of the UI-Thread.
+ * 
+ * <pre>
+ * ServiceLoadReport report = new ServiceLoadTest(ServiceToTest::new)
+ * 		.concurrency(50)
+ * 		.iterations(1000)
+ * 		.maxLatency(State.SUCCEEDED, 99, 2000)
+ * 		.run();
+ * </pre>
+ * 
+ * @author sialcasa
+ */
+public class ServiceLoadTest {
+	
+	private static final long PROBE_INTERVAL_MILLIS = 10;
+	
+	private final Supplier<? extends Service<?>> serviceFactory;
+	
+	private int concurrency = 1;
+	
+	private long iterations = Long.MAX_VALUE;
+	
+	private long durationMillis = Long.MAX_VALUE;
+	
+	private long timeoutMillis = 60000;
+	
+	private final List<Slo> slos = new ArrayList<>();
+	
+	/**
+	 * @param serviceFactory
+	 *            which creates the Services under test, it is called once per concurrent Service
+	 */
+	public ServiceLoadTest(Supplier<? extends Service<?>> serviceFactory) {
+		this.serviceFactory = serviceFactory;
+	}
+	
+	/**
+	 * @param concurrency
+	 *            number of Services which run at the same time
+	 * @return this
+	 */
+	public ServiceLoadTest concurrency(int concurrency) {
+		this.concurrency = concurrency;
+		return this;
+	}
+	
+	/**
+	 * @param iterations
+	 *            total number of start/restart cycles
+	 * @return this
+	 */
+	public ServiceLoadTest iterations(long iterations) {
+		this.iterations = iterations;
+		return this;
+	}
+	
+	/**
+	 * @param durationMillis
+	 *            duration after which no new cycles are started
+	 * @return this
+	 */
+	public ServiceLoadTest duration(long durationMillis) {
+		this.durationMillis = durationMillis;
+		return this;
+	}
+	
+	/**
+	 * @param timeoutMillis
+	 *            maximum time to wait for the running cycles after the duration, or for the whole load test if no
+	 *            duration is set (default 60 s)
+	 * @return this
+	 */
+	public ServiceLoadTest timeout(long timeoutMillis) {
+		this.timeoutMillis = timeoutMillis;
+		return this;
+	}
+	
+	/**
+	 * Fails the load test if the percentile of the latency until the state exceeds the limit or if the state was never
+	 * reached.
+	 * 
+	 * @param state
+	 *            RUNNING, SUCCEEDED or FAILED
+	 * @param percentile
+	 *            e.g. 99
+	 * @param maxMillis
+	 *            limit of the latency
+	 * @return this
+	 */
+	public ServiceLoadTest maxLatency(State state, double percentile, long maxMillis) {
+		slos.add(report -> {
+			if (report.getLatency(state).getCount() == 0) {
+				return String.format(Locale.ROOT, "p%s of %s has no samples, limit %d ms", percentile, state,
+						maxMillis);
+			}
+			long actual = TimeUnit.NANOSECONDS.toMillis(report.getLatency(state).getPercentile(percentile));
+			return actual <= maxMillis ? null : String.format(Locale.ROOT, "p%s of %s is %d ms, limit %d ms",
+					percentile, state, actual, maxMillis);
+		});
+		return this;
+	}
+	
+	/**
+	 * Fails the load test if less cycles per second are completed.
+	 * 
+	 * @param cyclesPerSecond
+	 *            minimum throughput
+	 * @return this
+	 */
+	public ServiceLoadTest minThroughput(double cyclesPerSecond) {
+		slos.add(report -> report.getThroughput() >= cyclesPerSecond ? null : String.format(Locale.ROOT,
+				"throughput is %.1f/s, limit %.1f/s", report.getThroughput(), cyclesPerSecond));
+		return this;
+	}
+	
+	/**
+	 * Fails the load test if the UI-Thread is busy for a bigger share of the time.
+	 * 
+	 * @param utilization
+	 *            maximum share between 0 and 1
+	 * @return this
+	 */
+	public ServiceLoadTest maxFxThreadUtilization(double utilization) {
+		slos.add(report -> report.getFxThreadUtilization() <= utilization ? null : String.format(Locale.ROOT,
+				"FX thread utilization is %.0f%%, limit %.0f%%", report.getFxThreadUtilization() * 100,
+				utilization * 100));
+		return this;
+	}
+	
+	/**
+	 * Runs the load test.
+	 * 
+	 * @return the report
+	 * @throws AssertionError
+	 *             if a service level objective is violated, the message contains the report
+	 * @throws InterruptedException
+	 */
+	public ServiceLoadReport run() throws InterruptedException {
+		if (iterations == Long.MAX_VALUE && durationMillis == Long.MAX_VALUE) {
+			throw new IllegalStateException("The load test needs a number of iterations or a duration");
+		}
+		ServiceLoadReport report = new ServiceLoadReport();
+		List<Slot> slots = new ArrayList<>();
+		for (int i = 0; i < concurrency; i++) {
+			slots.add(new Slot(serviceFactory.get(), report));
+		}
+		
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		Thread fxThread = SingleJfxApplication.getFxThread();
+		boolean cpuTimeSupported = fxThread != null && threads.isThreadCpuTimeSupported();
+		long fxCpuStart = cpuTimeSupported ? threads.getThreadCpuTime(fxThread.getId()) : -1;
+		
+		Probe probe = new Probe(report);
+		probe.start();
+		
+		long start = System.nanoTime();
+		long deadline = durationMillis == Long.MAX_VALUE ? Long.MAX_VALUE : start
+				+ TimeUnit.MILLISECONDS.toNanos(durationMillis);
+		AtomicLong remaining = new AtomicLong(iterations);
+		CountDownLatch finished = new CountDownLatch(slots.size());
+		for (Slot slot : slots) {
+			slot.next(remaining, deadline, finished);
+		}
+		long waitMillis = durationMillis == Long.MAX_VALUE ? timeoutMillis : durationMillis + timeoutMillis;
+		if (!finished.await(waitMillis, TimeUnit.MILLISECONDS)) {
+			report.unfinished = finished.getCount();
+		}
+		report.elapsedNanos = System.nanoTime() - start;
+		probe.interrupt();
+		
+		if (cpuTimeSupported) {
+			long fxCpu = threads.getThreadCpuTime(fxThread.getId()) - fxCpuStart;
+			report.fxThreadUtilization = Math.min(1, (double) fxCpu / report.elapsedNanos);
+		}
+		for (Slot slot : slots) {
+			slot.dispose();
+		}
+		
+		for (Slo slo : slos) {
+			String violation = slo.check(report);
+			if (violation != null) {
+				report.addViolation(violation);
+			}
+		}
+		if (!report.getViolations().isEmpty()) {
+			throw new AssertionError("Service level objectives violated:" + System.lineSeparator() + report);
+		}
+		return report;
+	}
+	
+	@FunctionalInterface
+	private interface Slo {
+		
+		/**
+		 * @return the description of the violation or <code>null</code>
+		 */
+		String check(ServiceLoadReport report);
+	}
+	
+	/**
+	 * One of the concurrent Services, which is restarted as soon as its previous cycle is finished.
+	 */
+	private class Slot {
+		
+		private final Service<?> service;
+		
+		private final ServiceWrapper wrapper;
+		
+		private final ServiceLoadReport report;
+		
+		private final ChangeListener<State> stateListener;
+		
+		private volatile long cycleStart;
+		
+		/** Set by {@link #dispose()}, so the completion of a cancelled cycle does not restart the Service. */
+		private volatile boolean stopped;
+		
+		Slot(Service<?> service, ServiceLoadReport report) {
+			this.service = service;
+			this.wrapper = new ServiceWrapper(service);
+			this.report = report;
+			this.stateListener = (observable, oldValue, newValue) -> {
+				long latency = System.nanoTime() - cycleStart;
+				switch (newValue) {
+					case RUNNING:
+						report.timeToRunning.record(latency);
+						break;
+					case SUCCEEDED:
+						report.timeToSucceeded.record(latency);
+						break;
+					case FAILED:
+						report.timeToFailed.record(latency);
+						break;
+					case CANCELLED:
+						report.cancelled.incrementAndGet();
+						break;
+					default:
+						break;
+				}
+			};
+			wrapper.inFx(s -> {
+				s.stateProperty().addListener(stateListener);
+				LeakTracker.added(s.stateProperty(), stateListener);
+				return null;
+			});
+		}
+		
+		void next(AtomicLong remaining, long deadline, CountDownLatch finished) {
+			if (stopped) {
+				return;
+			}
+			// clamped at 0, so the slots which find no cycle left can't overflow it
+			if (remaining.getAndUpdate(n -> Math.max(0, n - 1)) <= 0 || System.nanoTime() >= deadline) {
+				finished.countDown();
+				return;
+			}
+			cycleStart = System.nanoTime();
+			// completed in the UI-Thread, so the next cycle must not block
+			wrapper.restartAsync().whenComplete((result, error) -> {
+				if (stopped) {
+					return;
+				}
+				report.cycles.incrementAndGet();
+				next(remaining, deadline, finished);
+			});
+		}
+		
+		void dispose() {
+			stopped = true;
+			FxDispatcher.runLater(() -> {
+				service.stateProperty().removeListener(stateListener);
+				LeakTracker.removed(service.stateProperty(), stateListener);
+				service.cancel();
+				// a restart which was submitted before the UI-Thread saw the flag runs before this
+				FxDispatcher.runLater(service::cancel);
+			});
+		}
+	}
+	
+	/**
+	 * Posts probes to the UI-Thread and records how long they wait in its queue.
+	 */
+	private static class Probe extends Thread {
+		
+		private static final AtomicInteger COUNTER = new AtomicInteger();
+		
+		private final ServiceLoadReport report;
+		
+		Probe(ServiceLoadReport report) {
+			super("jfxrunner-load-probe-" + COUNTER.incrementAndGet());
+			setDaemon(true);
+			this.report = report;
+		}
+		
+		@Override
+		public void run() {
+			try {
+				while (!isInterrupted()) {
+					long posted = System.nanoTime();
+					Platform.runLater(() -> report.fxQueueLatency.record(System.nanoTime() - posted));
+					Thread.sleep(PROBE_INTERVAL_MILLIS);
+				}
+			} catch (InterruptedException e) {
+				// load test finished
+			}
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package de.saxsys.javafx.test.service;
+
+import javafx.beans.value.ChangeListener;
+import javafx.concurrent.Service;
+import javafx.concurrent.Worker;
+import javafx.concurrent.Worker.State;
+
+/**
+ * Live mirror of the {@link Worker} properties of a {@link Service}. Listeners which are installed in the UI-Thread
+ * publish every change into volatile fields, so the values can be read from any thread without a round trip to the
+ * UI-Thread.
+ * 
+ * The listeners of the mirror are installed before any listener of the {@link ServiceWrapper} which waits for a
+ * state. Because JavaFX notifies listeners in the order of their registration, all changes which lead to the awaited
+ * state are visible in the mirror when the waiting thread continues.
+ * 
+ * @author sialcasa
+ */
+class ServiceMirror {
+	
+	private final Service<?> service;
+	
+	private volatile State state;
+	private volatile Object value;
+	private volatile Throwable exception;
+	private volatile double workDone;
+	private volatile double totalWork;
+	private volatile double progress;
+	private volatile boolean running;
+	private volatile String message;
+	private volatile String title;
+	
+	private final ChangeListener<State> stateListener = (b, o, newValue) -> state = newValue;
+	private final ChangeListener<Object> valueListener = (b, o, newValue) -> value = newValue;
+	private final ChangeListener<Throwable> exceptionListener = (b, o, newValue) -> exception = newValue;
+	private final ChangeListener<Number> workDoneListener = (b, o, newValue) -> workDone = newValue.doubleValue();
+	private final ChangeListener<Number> totalWorkListener = (b, o, newValue) -> totalWork = newValue.doubleValue();
+	private final ChangeListener<Number> progressListener = (b, o, newValue) -> progress = newValue.doubleValue();
+	private final ChangeListener<Boolean> runningListener = (b, o, newValue) -> running = newValue;
+	private final ChangeListener<String> messageListener = (b, o, newValue) -> message = newValue;
+	private final ChangeListener<String> titleListener = (b, o, newValue) -> title = newValue;
+	
+	/**
+	 * Copies the current values of the service and installs the listeners. Has to be called in the UI-Thread.
+	 * 
+	 * @param service
+	 *            to mirror
+	 */
+	@SuppressWarnings("unchecked")
+	ServiceMirror(Service<?> service) {
+		this.service = service;
+		
+		value = service.getValue();
+		exception = service.getException();
+		workDone = service.getWorkDone();
+		totalWork = service.getTotalWork();
+		progress = service.getProgress();
+		running = service.isRunning();
+		message = service.getMessage();
+		title = service.getTitle();
+		state = service.getState();
+		
+		service.stateProperty().addListener(stateListener);
+		((Service<Object>) service).valueProperty().addListener(valueListener);
+		service.exceptionProperty().addListener(exceptionListener);
+		service.workDoneProperty().addListener(workDoneListener);
+		service.totalWorkProperty().addListener(totalWorkListener);
+		service.progressProperty().addListener(progressListener);
+		service.runningProperty().addListener(runningListener);
+		service.messageProperty().addListener(messageListener);
+		service.titleProperty().addListener(titleListener);
+	}
+	
+	/**
+	 * Removes the listeners from the service. Has to be called in the UI-Thread.
+	 */
+	@SuppressWarnings("unchecked")
+	void dispose() {
+		service.stateProperty().removeListener(stateListener);
+		((Service<Object>) service).valueProperty().removeListener(valueListener);
+		service.exceptionProperty().removeListener(exceptionListener);
+		service.workDoneProperty().removeListener(workDoneListener);
+		service.totalWorkProperty().removeListener(totalWorkListener);
+		service.progressProperty().removeListener(progressListener);
+		service.runningProperty().removeListener(runningListener);
+		service.messageProperty().removeListener(messageListener);
+		service.titleProperty().removeListener(titleListener);
+	}
+	
+	State getState() {
+		return state;
+	}
+	
+	Object getValue() {
+		return value;
+	}
+	
+	Throwable getException() {
+		return exception;
+	}
+	
+	double getWorkDone() {
+		return workDone;
+	}
+	
+	double getTotalWork() {
+		return totalWork;
+	}
+	
+	double getProgress() {
+		return progress;
+	}
+	
+	boolean isRunning() {
+		return running;
+	}
+	
+	String getMessage() {
+		return message;
+	}
+	
+	String getTitle() {
+		return title;
+	}
+}
@@ -6,6 +6,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import javafx.application.Platform;
@@ -20,6 +21,12 @@ import javafx.concurrent.Service;
 import javafx.concurrent.Worker;
 import javafx.event.EventHandler;
 
+import de.saxsys.javafx.test.FxDispatcher;
+import de.saxsys.javafx.test.LeakTracker;
+import de.saxsys.javafx.test.ServiceCleanup;
+import de.saxsys.javafx.test.ServiceCleanup.WorkerThreads;
+import de.saxsys.javafx.test.VirtualThreads;
+
 /**
  * Class which wrapps a Service and delegates the calls to this service in the UI-Thread. It helps you to access the
  * values of the Services from outside of the UI-Thread.
@@ -28,7 +35,16 @@ import javafx.event.EventHandler;
  */
 public class ServiceWrapper implements Worker {
 	
-	private final Service service;
+	private final Service<?> service;
+	
+	/** Live mirror of the Worker properties, <code>null</code> if the getters call the UI-Thread. */
+	private final ServiceMirror mirror;
+	
+	/** Recorder of the transitions, only accessed in the UI-Thread. */
+	private TransitionRecorder recorder;
+	
+	/** Threads which currently run a task of the Service, see {@link ServiceCleanup}. */
+	private final WorkerThreads workerThreads = new WorkerThreads();
 	
 	/**
 	 * Create the Wrapper with a given service.
@@ -36,12 +52,134 @@ public class ServiceWrapper implements Worker {
 	 * @param service
 	 */
 	public ServiceWrapper(Service service) {
+		this(service, false);
+	}
+	
+	/**
+	 * Create the Wrapper with a given service. With a live mirror the getters of the {@link Worker} properties (e.g.
+	 * {@link #getValue()} or {@link #getState()}) are plain memory reads, which don't need a round trip to the
+	 * UI-Thread. After {@link #startAndWait(long)} and the other waiting methods returned, the getters reflect at
+	 * least the values which lead to the awaited state. Call {@link #dispose()} to remove the listeners of the mirror
+	 * from the service.
+	 * 
+	 * @param service
+	 * @param liveMirror
+	 *            whether the Worker properties should be mirrored
+	 */
+	public ServiceWrapper(Service<?> service, boolean liveMirror) {
 		this.service = service;
+		LeakTracker.trackReachability(service);
+		ServiceCleanup.register(service, workerThreads);
+		mirror = liveMirror ? callMethodInUIThread(() -> createMirror(service)) : null;
+	}
+	
+	private static ServiceMirror createMirror(Service<?> service) {
+		ServiceMirror mirror = new ServiceMirror(service);
+		LeakTracker.added(service, mirror);
+		return mirror;
+	}
+	
+	/**
+	 * Removes the listeners of the live mirror from the service. Afterwards the mirror does not reflect changes of the
+	 * service anymore.
+	 */
+	public void dispose() {
+		if (mirror != null) {
+			callMethodInUIThread(() -> {
+				mirror.dispose();
+				LeakTracker.removed(service, mirror);
+				return null;
+			});
+		}
+	}
+	
+	/**
+	 * Starts to record the state transitions, progress and message updates of the Service with nanosecond
+	 * timestamps. A previous recorder of this wrapper is stopped.
+	 * 
+	 * @param capacity
+	 *            number of events which are kept, older ones are overwritten
+	 * @return the recorder
+	 */
+	public TransitionRecorder record(int capacity) {
+		return callMethodInUIThread(() -> {
+			if (recorder != null) {
+				recorder.dispose();
+				LeakTracker.removed(service, recorder);
+			}
+			recorder = new TransitionRecorder(service, capacity);
+			LeakTracker.added(service, recorder);
+			return recorder;
+		});
+	}
+	
+	/**
+	 * Stops the recording and removes the listeners of the recorder from the Service.
+	 */
+	public void stopRecording() {
+		callMethodInUIThread(() -> {
+			if (recorder != null) {
+				recorder.dispose();
+				LeakTracker.removed(service, recorder);
+				recorder = null;
+			}
+			return null;
+		});
+	}
+	
+	private void startService() {
+		if (recorder != null) {
+			recorder.recordStart();
+		}
+		runWithTestExecutor(service::start);
+	}
+	
+	private void restartService() {
+		if (recorder != null) {
+			recorder.recordStart();
+		}
+		runWithTestExecutor(service::restart);
+	}
+	
+	/**
+	 * Starts the task of the Service with the executor of the test: a virtual-thread-per-task executor for a Service
+	 * without executor, if virtual threads are enabled (see {@link VirtualThreads}), which records the worker threads
+	 * so the runner can wait for them after the test. The Service reads its executor only while it starts the task, so
+	 * the executor of the test is set just for the call and the executor of the Service is restored afterwards.
+	 */
+	private void runWithTestExecutor(Runnable start) {
+		Executor executor = service.getExecutor();
+		Executor testExecutor = executor;
+		if (testExecutor == null && VirtualThreads.isEnabled()) {
+			testExecutor = TestExecutors.virtualThreadPerTask();
+		}
+		if (ServiceCleanup.isEnabled()) {
+			testExecutor = new WorkerTrackingExecutor(testExecutor != null ? testExecutor : SharedThreadPool.INSTANCE,
+					workerThreads);
+		}
+		if (testExecutor == executor) {
+			start.run();
+			return;
+		}
+		service.setExecutor(testExecutor);
+		try {
+			start.run();
+		} finally {
+			service.setExecutor(executor);
+		}
+	}
+	
+	private void cancelService() {
+		FxDispatcher.runLater(() -> {
+			if (service.isRunning()) {
+				service.cancel();
+			}
+		});
 	}
 	
 	/**
 	 * Calls the {@link Service#start()} method of the given service and blocks the caller thread until the state
-	 * RUNNING, FAILED, or CANCELLED (was RUNNING befor) is reached.
+	 * SUCCEEDED, FAILED, or CANCELLED is reached.
 	 * 
 	 * @param timeout
 	 *            maximum duration of the call
@@ -49,14 +187,15 @@ public class ServiceWrapper implements Worker {
 	 * @throws InterruptedException
 	 * @throws ExecutionException
 	 * @throws TimeoutException
+	 *             if the state was not reached in time, the Service is cancelled then
 	 */
 	public void startAndWait(long timeout) throws InterruptedException, ExecutionException, TimeoutException {
-		callAndWaitService(timeout, () -> service.start());
+		callAndWaitService(timeout, this::startService);
 	}
 	
 	/**
 	 * Calls the {@link Service#restart()} method of the given service and blocks the caller thread until the state
-	 * RUNNING, FAILED, or CANCELLED (was RUNNING befor) is reached.
+	 * SUCCEEDED, FAILED, or CANCELLED is reached.
 	 * 
 	 * @param timeout
 	 *            maximum duration of the call
@@ -64,36 +203,91 @@ public class ServiceWrapper implements Worker {
 	 * @throws InterruptedException
 	 * @throws ExecutionException
 	 * @throws TimeoutException
+	 *             if the state was not reached in time, the Service is cancelled then
 	 */
 	public void restartAndWait(long timeout) throws InterruptedException, ExecutionException, TimeoutException {
-		callAndWaitService(timeout, () -> service.restart());
+		callAndWaitService(timeout, this::restartService);
+	}
+	
+	/**
+	 * Calls the {@link Service#start()} method of the given service without blocking the caller thread.
+	 * 
+	 * @return a future which is completed when the state SUCCEEDED, FAILED, or CANCELLED is reached. Cancel the
+	 *         future to stop waiting.
+	 */
+	public CompletableFuture<Void> startAsync() {
+		return callServiceAsync(this::startService);
+	}
+	
+	/**
+	 * Calls the {@link Service#restart()} method of the given service without blocking the caller thread.
+	 * 
+	 * @return a future which is completed when the state SUCCEEDED, FAILED, or CANCELLED is reached. Cancel the
+	 *         future to stop waiting.
+	 */
+	public CompletableFuture<Void> restartAsync() {
+		return callServiceAsync(this::restartService);
 	}
 	
 	private void callAndWaitService(long timeout, Runnable serviceCall) throws InterruptedException,
 			ExecutionException, TimeoutException {
+		checkNotInUIThread();
+		CompletableFuture<Void> called = callServiceAsync(serviceCall);
+		try {
+			called.get(timeout, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			// removes the listener
+			called.cancel(false);
+			cancelService();
+			throw e;
+		}
+	}
+	
+	private CompletableFuture<Void> callServiceAsync(Runnable serviceCall) {
 		CompletableFuture<Void> called = new CompletableFuture<>();
 		
-		ChangeListener<State> listener = (ChangeListener<State>) (observable, oldValue, newValue) -> {
-			if (newValue == State.CANCELLED && oldValue == State.RUNNING || newValue == State.FAILED
-					|| newValue == State.SUCCEEDED) {
-				called.complete(null);
+		ChangeListener<State> listener = new ChangeListener<State>() {
+			@Override
+			public void changed(ObservableValue<? extends State> observable, State oldValue, State newValue) {
+				if (isFinished(newValue)) {
+					observable.removeListener(this);
+					LeakTracker.removed(observable, this);
+					called.complete(null);
+				}
 			}
 		};
 		
-		Platform.runLater(() -> {
-			service.stateProperty().addListener(listener);
-			serviceCall.run();
+		FxDispatcher.runLater(() -> {
+			try {
+				serviceCall.run();
+			} catch (RuntimeException e) {
+				called.completeExceptionally(e);
+				return;
+			}
+			// added after the call, so the cancellation of the previous run by a restart is not taken for the end
+			if (isFinished(service.getState())) {
+				called.complete(null);
+			} else {
+				service.stateProperty().addListener(listener);
+				LeakTracker.added(service.stateProperty(), listener);
+			}
 		});
-		called.get(timeout, TimeUnit.MILLISECONDS);
 		
-		CompletableFuture<Void> removeListener = new CompletableFuture<>();
-		Platform.runLater(() -> {
-			service.stateProperty().removeListener(listener);
-			removeListener.complete(null);
+		// the listener removes itself when the state is reached, otherwise it is removed here
+		called.whenComplete((result, error) -> {
+			if (error != null) {
+				FxDispatcher.runLater(() -> {
+					service.stateProperty().removeListener(listener);
+					LeakTracker.removed(service.stateProperty(), listener);
+				});
+			}
 		});
-		removeListener.get(1000, TimeUnit.MILLISECONDS);
+		return called;
 	}
 	
+	private static boolean isFinished(State state) {
+		return state == State.SUCCEEDED || state == State.FAILED || state == State.CANCELLED;
+	}
 	
 	/**
 	 * Starts the {@link Service} and blocks the caller thread until it reached the @targetValue of the
@@ -105,14 +299,15 @@ public class ServiceWrapper implements Worker {
 	 * @param targetValue
 	 *            which is the value to be reached (e.g. State {@link State.SUCCEEDED})
 	 * @param timeoutInSeconds
-	 *            that fails the execution if the @targetValue could not reached on @observableGetter in time
+	 *            that fails the execution if the @targetValue could not reached on @observableGetter in time, the
+	 *            Service is cancelled then
 	 * @return
 	 */
 	public void startAndWaitForValue(ObservableGetter observableGetter,
 			Object targetValue,
 			long timeoutInSeconds) throws InterruptedException, ExecutionException, TimeoutException
 	{
-		callService(observableGetter, targetValue, timeoutInSeconds, () -> service.start());
+		callService(observableGetter, targetValue, timeoutInSeconds, this::startService);
 	}
 	
 	/**
@@ -125,71 +320,236 @@ public class ServiceWrapper implements Worker {
 	 * @param targetValue
 	 *            which is the value to be reached (e.g. State {@link State.SUCCEEDED})
 	 * @param timeoutInSeconds
-	 *            that fails the execution if the @targetValue could not reached on @observableGetter in time
+	 *            that fails the execution if the @targetValue could not reached on @observableGetter in time, the
+	 *            Service is cancelled then
 	 */
 	public void restartAndWaitForValue(ObservableGetter observableGetter,
 			Object targetValue,
 			long timeoutInSeconds) throws InterruptedException, ExecutionException, TimeoutException
 	{
 		callService(observableGetter, targetValue, timeoutInSeconds,
-				() -> service.restart());
+				this::restartService);
 	}
 	
 	private void callService(ObservableGetter observableGetter, Object targetValue, long timeoutInSeconds,
 			Runnable serviceCall)
 			throws InterruptedException, ExecutionException, TimeoutException {
+		checkNotInUIThread();
 		CompletableFuture<Void> future = new CompletableFuture<>();
 		
-		ChangeListener changeListener = (b, o, newValue) -> {
+		ChangeListener<Object> changeListener = (b, o, newValue) -> {
 			if (newValue == targetValue) {
 				future.complete(null);
 			}
 		};
 		
-		Platform.runLater(() -> {
-			observableGetter.getValue().addListener(changeListener);
-			serviceCall.run();
+		FxDispatcher.runLater(() -> {
+			ObservableValue<?> observable = observableGetter.getValue();
+			observable.addListener(changeListener);
+			LeakTracker.added(observable, changeListener);
+			try {
+				serviceCall.run();
+			} catch (RuntimeException e) {
+				future.completeExceptionally(e);
+			}
 		});
 		
-		future.get(timeoutInSeconds, TimeUnit.SECONDS);
+		try {
+			future.get(timeoutInSeconds, TimeUnit.SECONDS);
+		} catch (TimeoutException e) {
+			cancelService();
+			throw e;
+		} finally {
+			// removed on timeout, too, otherwise the Service would keep the listener
+			FxDispatcher.runLater(() -> {
+				ObservableValue<?> observable = observableGetter.getValue();
+				observable.removeListener(changeListener);
+				LeakTracker.removed(observable, changeListener);
+			});
+		}
+	}
+	
+	
+	
+	/**
+	 * Blocks the caller thread until the condition is fulfilled. The condition is checked immediately, so a condition
+	 * which is already fulfilled returns without waiting.
+	 * 
+	 * @param condition
+	 *            to be fulfilled (e.g. <code>WaitCondition.of(service::progressProperty, (Number p) -&gt;
+	 *            p.doubleValue() &gt;= 0.5)</code>)
+	 * @param timeout
+	 *            maximum duration of the wait in milliseconds
+	 * @throws TimeoutException
+	 *             if the condition was not fulfilled in time, the message contains the last observed values
+	 */
+	public void waitFor(WaitCondition condition, long timeout) throws InterruptedException, ExecutionException,
+			TimeoutException {
+		callServiceAndWaitFor(condition, timeout, () -> {
+		}, false);
+	}
+	
+	/**
+	 * Starts the {@link Service} and blocks the caller thread until the condition is fulfilled. The condition is
+	 * checked immediately after the start.
+	 * 
+	 * @param condition
+	 *            to be fulfilled
+	 * @param timeout
+	 *            maximum duration of the wait in milliseconds
+	 * @throws TimeoutException
+	 *             if the condition was not fulfilled in time, the message contains the last observed values; the
+	 *             Service is cancelled then
+	 */
+	public void startAndWaitFor(WaitCondition condition, long timeout) throws InterruptedException,
+			ExecutionException, TimeoutException {
+		callServiceAndWaitFor(condition, timeout, this::startService, true);
+	}
+	
+	/**
+	 * Restarts the {@link Service} and blocks the caller thread until the condition is fulfilled. The condition is
+	 * checked immediately after the restart.
+	 * 
+	 * @param condition
+	 *            to be fulfilled
+	 * @param timeout
+	 *            maximum duration of the wait in milliseconds
+	 * @throws TimeoutException
+	 *             if the condition was not fulfilled in time, the message contains the last observed values; the
+	 *             Service is cancelled then
+	 */
+	public void restartAndWaitFor(WaitCondition condition, long timeout) throws InterruptedException,
+			ExecutionException, TimeoutException {
+		callServiceAndWaitFor(condition, timeout, this::restartService, true);
+	}
+	
+	/**
+	 * @param cancelOnTimeout
+	 *            whether the Service is cancelled if the condition is not fulfilled in time, only for calls which
+	 *            started the Service
+	 */
+	private void callServiceAndWaitFor(WaitCondition condition, long timeout, Runnable serviceCall,
+			boolean cancelOnTimeout) throws InterruptedException, ExecutionException, TimeoutException {
+		checkNotInUIThread();
+		CompletableFuture<Void> fulfilled = new CompletableFuture<>();
 		
-		CompletableFuture<Void> removedListenerFuture = new CompletableFuture<Void>();
+		ChangeListener<Object> listener = (observable, oldValue, newValue) -> {
+			if (!fulfilled.isDone() && condition.test()) {
+				fulfilled.complete(null);
+			}
+		};
 		
-		Platform.runLater(() -> {
-			observableGetter.getValue().removeListener(changeListener);
-			removedListenerFuture.complete(null);
+		FxDispatcher.runLater(() -> {
+			try {
+				condition.addListener(listener);
+				LeakTracker.added(condition, listener);
+				serviceCall.run();
+				if (condition.test()) {
+					fulfilled.complete(null);
+				}
+			} catch (RuntimeException e) {
+				fulfilled.completeExceptionally(e);
+			}
 		});
 		
-		removedListenerFuture.get(1, TimeUnit.SECONDS);
+		try {
+			fulfilled.get(timeout, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			if (cancelOnTimeout) {
+				cancelService();
+			}
+			TimeoutException timeoutException = new TimeoutException("Condition was not fulfilled within " + timeout
+					+ " ms: " + condition);
+			timeoutException.initCause(e);
+			throw timeoutException;
+		} finally {
+			FxDispatcher.runLater(() -> {
+				condition.removeListener(listener);
+				LeakTracker.removed(condition, listener);
+			});
+		}
+	}
+	
+	/**
+	 * Calls the given function with the wrapped {@link Service} in the UI-Thread and returns its result. Use this to
+	 * read several values of the Service with a single round trip to the UI-Thread instead of one per getter.
+	 * 
+	 * @param function
+	 *            which is called with the Service (e.g. <code>s -> s.getValue() + s.getMessage()</code>)
+	 * @return the result of the function
+	 */
+	public <T> T inFx(Function<Service<?>, T> function) {
+		return callMethodInUIThread(() -> function.apply(service));
 	}
 	
+	/**
+	 * Copies all values of the wrapped {@link Service} with a single round trip to the UI-Thread.
+	 * 
+	 * @return a {@link ServiceMock} which contains the current values of the Service
+	 */
+	public ServiceMock<?> snapshot() {
+		return callMethodInUIThread(() -> new ServiceMock<>(service));
+	}
 	
+	/**
+	 * Calls the given function with the wrapped {@link Service} in the UI-Thread without blocking the caller thread.
+	 * 
+	 * @param function
+	 *            which is called with the Service
+	 * @return a future which is completed with the result of the function
+	 */
+	public <T> CompletableFuture<T> inFxAsync(Function<Service<?>, T> function) {
+		return callMethodInUIThreadAsync(() -> function.apply(service));
+	}
 	
 	// Async logic for delegates
 	
+	private <T extends Object> CompletableFuture<T> callMethodInUIThreadAsync(Supplier<T> call) {
+		return FxDispatcher.callAsync(call::get);
+	}
+	
+	/**
+	 * Calls the supplier in the UI-Thread, or directly if the caller is the UI-Thread.
+	 */
 	private <T extends Object> T callMethodInUIThread(Supplier<T> call) {
-		CompletableFuture<T> called = new CompletableFuture<>();
-		Platform.runLater(() -> {
-			try {
-				called.complete(call.get());
-			} catch (Exception e) {
-				called.completeExceptionally(e);
-			}
-		});
-		
 		try {
-			return called.get();
-		} catch (InterruptedException | ExecutionException e) {
+			return FxDispatcher.call(call::get);
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
 			throw new RuntimeException(e);
 		}
 	}
 	
+	/**
+	 * The waiting methods need the UI-Thread to reach the state, so they would block it forever.
+	 */
+	private static void checkNotInUIThread() {
+		if (Platform.isFxApplicationThread()) {
+			throw new IllegalStateException(
+					"Can't wait for the Service in the UI-Thread, use startAsync() or restartAsync() instead");
+		}
+	}
+	
 	// DELEGATES
 	
 	@Override
 	public final State getState() {
+		if (mirror != null) {
+			return mirror.getState();
+		}
 		return callMethodInUIThread(() -> service.getState());
 	}
+
+	/**
+	 * @return a future which is completed with the result of {@link #getState()}
+	 */
+	public final CompletableFuture<State> getStateAsync() {
+		if (mirror != null) {
+			return CompletableFuture.completedFuture(mirror.getState());
+		}
+		return callMethodInUIThreadAsync(() -> service.getState());
+	}
 	
 	@Override
 	public final ReadOnlyObjectProperty stateProperty() {
@@ -198,8 +558,21 @@ public class ServiceWrapper implements Worker {
 	
 	@Override
 	public final Object getValue() {
+		if (mirror != null) {
+			return mirror.getValue();
+		}
 		return callMethodInUIThread(() -> service.getValue());
 	}
+
+	/**
+	 * @return a future which is completed with the result of {@link #getValue()}
+	 */
+	public final CompletableFuture<Object> getValueAsync() {
+		if (mirror != null) {
+			return CompletableFuture.completedFuture(mirror.getValue());
+		}
+		return callMethodInUIThreadAsync(() -> service.getValue());
+	}
 	
 	@Override
 	public final ReadOnlyObjectProperty valueProperty() {
@@ -208,8 +581,21 @@ public class ServiceWrapper implements Worker {
 	
 	@Override
 	public final Throwable getException() {
+		if (mirror != null) {
+			return mirror.getException();
+		}
 		return callMethodInUIThread(() -> service.getException());
 	}
+
+	/**
+	 * @return a future which is completed with the result of {@link #getException()}
+	 */
+	public final CompletableFuture<Throwable> getExceptionAsync() {
+		if (mirror != null) {
+			return CompletableFuture.completedFuture(mirror.getException());
+		}
+		return callMethodInUIThreadAsync(() -> service.getException());
+	}
 	
 	@Override
 	public final ReadOnlyObjectProperty exceptionProperty() {
@@ -218,8 +604,21 @@ public class ServiceWrapper implements Worker {
 	
 	@Override
 	public final double getWorkDone() {
+		if (mirror != null) {
+			return mirror.getWorkDone();
+		}
 		return callMethodInUIThread(() -> service.getWorkDone());
 	}
+
+	/**
+	 * @return a future which is completed with the result of {@link #getWorkDone()}
+	 */
+	public final CompletableFuture<Double> getWorkDoneAsync() {
+		if (mirror != null) {
+			return CompletableFuture.completedFuture(mirror.getWorkDone());
+		}
+		return callMethodInUIThreadAsync(() -> service.getWorkDone());
+	}
 	
 	@Override
 	public final ReadOnlyDoubleProperty workDoneProperty() {
@@ -228,8 +627,21 @@ public class ServiceWrapper implements Worker {
 	
 	@Override
 	public final double getTotalWork() {
+		if (mirror != null) {
+			return mirror.getTotalWork();
+		}
 		return callMethodInUIThread(() -> service.getTotalWork());
 	}
+
+	/**
+	 * @return a future which is completed with the result of {@link #getTotalWork()}
+	 */
+	public final CompletableFuture<Double> getTotalWorkAsync() {
+		if (mirror != null) {
+			return CompletableFuture.completedFuture(mirror.getTotalWork());
+		}
+		return callMethodInUIThreadAsync(() -> service.getTotalWork());
+	}
 	
 	@Override
 	public final ReadOnlyDoubleProperty totalWorkProperty() {
@@ -238,8 +650,21 @@ public class ServiceWrapper implements Worker {
 	
 	@Override
 	public final double getProgress() {
+		if (mirror != null) {
+			return mirror.getProgress();
+		}
 		return callMethodInUIThread(() -> service.getProgress());
 	}
+
+	/**
+	 * @return a future which is completed with the result of {@link #getProgress()}
+	 */
+	public final CompletableFuture<Double> getProgressAsync() {
+		if (mirror != null) {
+			return CompletableFuture.completedFuture(mirror.getProgress());
+		}
+		return callMethodInUIThreadAsync(() -> service.getProgress());
+	}
 	
 	@Override
 	public final ReadOnlyDoubleProperty progressProperty() {
@@ -248,8 +673,21 @@ public class ServiceWrapper implements Worker {
 	
 	@Override
 	public final boolean isRunning() {
+		if (mirror != null) {
+			return mirror.isRunning();
+		}
 		return callMethodInUIThread(() -> service.isRunning());
 	}
+
+	/**
+	 * @return a future which is completed with the result of {@link #isRunning()}
+	 */
+	public final CompletableFuture<Boolean> isRunningAsync() {
+		if (mirror != null) {
+			return CompletableFuture.completedFuture(mirror.isRunning());
+		}
+		return callMethodInUIThreadAsync(() -> service.isRunning());
+	}
 	
 	@Override
 	public final ReadOnlyBooleanProperty runningProperty() {
@@ -258,8 +696,21 @@ public class ServiceWrapper implements Worker {
 	
 	@Override
 	public final String getMessage() {
+		if (mirror != null) {
+			return mirror.getMessage();
+		}
 		return callMethodInUIThread(() -> service.getMessage());
 	}
+
+	/**
+	 * @return a future which is completed with the result of {@link #getMessage()}
+	 */
+	public final CompletableFuture<String> getMessageAsync() {
+		if (mirror != null) {
+			return CompletableFuture.completedFuture(mirror.getMessage());
+		}
+		return callMethodInUIThreadAsync(() -> service.getMessage());
+	}
 	
 	@Override
 	public final ReadOnlyStringProperty messageProperty() {
@@ -268,8 +719,21 @@ public class ServiceWrapper implements Worker {
 	
 	@Override
 	public final String getTitle() {
+		if (mirror != null) {
+			return mirror.getTitle();
+		}
 		return callMethodInUIThread(() -> service.getTitle());
 	}
+
+	/**
+	 * @return a future which is completed with the result of {@link #getTitle()}
+	 */
+	public final CompletableFuture<String> getTitleAsync() {
+		if (mirror != null) {
+			return CompletableFuture.completedFuture(mirror.getTitle());
+		}
+		return callMethodInUIThreadAsync(() -> service.getTitle());
+	}
 	
 	@Override
 	public final ReadOnlyStringProperty titleProperty() {
@@ -281,6 +745,20 @@ public class ServiceWrapper implements Worker {
 		return callMethodInUIThread(() -> service.getExecutor());
 	}
 	
+	/**
+	 * Sets the executor of the Service in the UI-Thread, e.g. one of the {@link TestExecutors}. Use this to replace
+	 * the shared thread pool of JavaFX or to control the execution of the tasks.
+	 * 
+	 * @param executor
+	 *            which runs the tasks of the Service
+	 */
+	public final void setExecutor(Executor executor) {
+		callMethodInUIThread(() -> {
+			service.setExecutor(executor);
+			return null;
+		});
+	}
+	
 	public final ObjectProperty executorProperty() {
 		return callMethodInUIThread(() -> service.executorProperty());
 	}
@@ -0,0 +1,36 @@
+package de.saxsys.javafx.test.service;
+
+import java.util.concurrent.Executor;
+
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
+
+/**
+ * Executor which runs the commands in the thread pool that JavaFX shares between all Services without executor. The
+ * pool itself is not accessible, so every command runs as a task of this Service.
+ * 
+ * @author sialcasa
+ */
+final class SharedThreadPool extends Service<Void> implements Executor {
+	
+	static final SharedThreadPool INSTANCE = new SharedThreadPool();
+	
+	private SharedThreadPool() {
+	}
+	
+	@Override
+	public void execute(Runnable command) {
+		executeTask(new Task<Void>() {
+			@Override
+			protected Void call() throws Exception {
+				command.run();
+				return null;
+			}
+		});
+	}
+	
+	@Override
+	protected Task<Void> createTask() {
+		throw new UnsupportedOperationException("the pool runs only the commands of other Services");
+	}
+}
@@ -0,0 +1,87 @@
+package de.saxsys.javafx.test.service;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executor which queues the tasks of a Service until the test runs them in its own thread. This gives deterministic
+ * interleavings of the tasks and the test.
+ * 
+ * <pre>
+ * SteppingExecutor executor = TestExecutors.stepping();
+ * wrapper.setExecutor(executor);
+ * wrapper.inFx(s -&gt; {
+ * 	s.start();
+ * 	return null;
+ * });
+ * executor.runNext();
+ * </pre>
+ * 
+ * @author sialcasa
+ */
+public class SteppingExecutor implements Executor {
+	
+	private final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+	
+	SteppingExecutor() {
+	}
+	
+	@Override
+	public void execute(Runnable task) {
+		tasks.add(task);
+	}
+	
+	/**
+	 * @return the number of queued tasks
+	 */
+	public int getPendingTasks() {
+		return tasks.size();
+	}
+	
+	/**
+	 * Runs the next queued task in the calling thread.
+	 * 
+	 * @return <code>false</code> if no task was queued
+	 */
+	public boolean runNext() {
+		Runnable task = tasks.poll();
+		if (task == null) {
+			return false;
+		}
+		task.run();
+		return true;
+	}
+	
+	/**
+	 * Waits until a task is queued and runs it in the calling thread.
+	 * 
+	 * @param timeout
+	 *            maximum duration of the wait in milliseconds
+	 * @throws InterruptedException
+	 * @throws TimeoutException
+	 *             if no task was queued in time
+	 */
+	public void awaitAndRunNext(long timeout) throws InterruptedException, TimeoutException {
+		Runnable task = tasks.poll(timeout, TimeUnit.MILLISECONDS);
+		if (task == null) {
+			throw new TimeoutException("No task was queued within " + timeout + " ms");
+		}
+		task.run();
+	}
+	
+	/**
+	 * Runs all queued tasks, including the ones which are queued while they run, in the calling thread.
+	 * 
+	 * @return the number of tasks which were run
+	 */
+	public int runAll() {
+		int count = 0;
+		while (runNext()) {
+			count++;
+		}
+		return count;
+	}
+}
@@ -0,0 +1,70 @@
+package de.saxsys.javafx.test.service;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.concurrent.Service;
+
+import de.saxsys.javafx.test.VirtualThreads;
+
+/**
+ * Executors for {@link Service}s under test, which can be installed with {@link ServiceWrapper#setExecutor(Executor)}.
+ * Without an executor a Service runs its tasks on a thread pool which is shared by all Services of JavaFX.
+ * 
+ * @author sialcasa
+ */
+public final class TestExecutors {
+	
+	private static ExecutorService sharedPool;
+	
+	private static ExecutorService virtualThreadPerTask;
+	
+	private TestExecutors() {
+	}
+	
+	/**
+	 * Runs the task directly in the thread which starts the Service. Because {@link Service#start()} is called in the
+	 * UI-Thread, the task blocks the UI-Thread while it runs, so use it only for tasks which return fast.
+	 * 
+	 * @return an executor which runs the tasks in the calling thread
+	 */
+	public static Executor callingThread() {
+		return Runnable::run;
+	}
+	
+	/**
+	 * @return a fixed pool of daemon threads, which is shared by all Services that use it
+	 */
+	public static synchronized Executor sharedPool() {
+		if (sharedPool == null) {
+			AtomicInteger counter = new AtomicInteger();
+			sharedPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+				Thread thread = new Thread(runnable, "jfxrunner-service-pool-" + counter.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return sharedPool;
+	}
+	
+	/**
+	 * @return an executor which runs every task in a new virtual thread, shared by all Services that use it
+	 * @throws UnsupportedOperationException
+	 *             if the JVM does not support virtual threads (Java 21 or newer)
+	 */
+	public static synchronized Executor virtualThreadPerTask() {
+		if (virtualThreadPerTask == null) {
+			virtualThreadPerTask = VirtualThreads.newVirtualThreadPerTaskExecutor();
+		}
+		return virtualThreadPerTask;
+	}
+	
+	/**
+	 * @return an executor which queues the tasks until the test runs them step by step
+	 */
+	public static SteppingExecutor stepping() {
+		return new SteppingExecutor();
+	}
+}
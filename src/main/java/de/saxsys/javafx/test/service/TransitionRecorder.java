@@ -0,0 +1,264 @@
+package de.saxsys.javafx.test.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javafx.beans.InvalidationListener;
+import javafx.concurrent.Service;
+import javafx.concurrent.Worker.State;
+
+/**
+ * Records the state transitions and the progress and message updates of a {@link Service} with nanosecond timestamps,
+ * see {@link ServiceWrapper#record(int)}. The events are written into a preallocated ring buffer by the UI-Thread;
+ * the listeners read the primitive values of the Service, so recording does not allocate. An invalidation without a
+ * change of the value (e.g. when the properties of the Service are rebound on a restart) is not recorded. If more
+ * events occur than the capacity, the oldest ones are overwritten.
+ * 
+ * <pre>
+ * TransitionRecorder recorder = wrapper.record(1024);
+ * wrapper.startAndWait(5000);
+ * assertTrue(recorder.getTimeToState(State.RUNNING, TimeUnit.MILLISECONDS) &lt; 5);
+ * assertTrue(recorder.getCount(TransitionRecorder.Kind.PROGRESS) &lt;= 100);
+ * </pre>
+ * 
+ * @author sialcasa
+ */
+public class TransitionRecorder {
+	
+	/**
+	 * Kind of a recorded event.
+	 */
+	public enum Kind {
+		/** The ServiceWrapper called start or restart. */
+		START,
+		/** The state changed. */
+		STATE,
+		/** The progress changed. */
+		PROGRESS,
+		/** The message changed. */
+		MESSAGE
+	}
+	
+	private static final Kind[] KINDS = Kind.values();
+	
+	private final Service<?> service;
+	
+	private final int capacity;
+	
+	/** One slot more than the capacity, which the UI-Thread may be writing while the others are read. */
+	private final int slots;
+	
+	private final long[] timestamps;
+	private final byte[] kinds;
+	private final State[] states;
+	private final double[] progresses;
+	private final String[] messages;
+	
+	/** Number of written events, published after the event is written. */
+	private final AtomicLong written = new AtomicLong();
+	
+	private final InvalidationListener stateListener;
+	private final InvalidationListener progressListener;
+	private final InvalidationListener messageListener;
+	
+	/** Values of the last recorded events, only accessed in the UI-Thread. */
+	private State lastState;
+	private double lastProgress;
+	private String lastMessage;
+	
+	/**
+	 * Creates the recorder and installs its listeners. Has to be called in the UI-Thread.
+	 */
+	TransitionRecorder(Service<?> service, int capacity) {
+		this.service = service;
+		this.capacity = capacity;
+		slots = capacity + 1;
+		timestamps = new long[slots];
+		kinds = new byte[slots];
+		states = new State[slots];
+		progresses = new double[slots];
+		messages = new String[slots];
+		
+		stateListener = observable -> {
+			if (service.getState() != lastState) {
+				write(Kind.STATE);
+			}
+		};
+		progressListener = observable -> {
+			if (Double.compare(service.getProgress(), lastProgress) != 0) {
+				write(Kind.PROGRESS);
+			}
+		};
+		messageListener = observable -> {
+			if (!Objects.equals(service.getMessage(), lastMessage)) {
+				write(Kind.MESSAGE);
+			}
+		};
+		service.stateProperty().addListener(stateListener);
+		service.progressProperty().addListener(progressListener);
+		service.messageProperty().addListener(messageListener);
+		
+		// an invalid property does not report the next invalidation
+		lastState = service.getState();
+		lastProgress = service.getProgress();
+		lastMessage = service.getMessage();
+	}
+	
+	/**
+	 * Removes the listeners. Has to be called in the UI-Thread.
+	 */
+	void dispose() {
+		service.stateProperty().removeListener(stateListener);
+		service.progressProperty().removeListener(progressListener);
+		service.messageProperty().removeListener(messageListener);
+	}
+	
+	/**
+	 * Records a start or restart. Has to be called in the UI-Thread.
+	 */
+	void recordStart() {
+		write(Kind.START);
+	}
+	
+	/**
+	 * Writes an event with the current values of the service. Only the UI-Thread writes, so a plain write followed by
+	 * the ordered publication of the counter is enough.
+	 */
+	private void write(Kind kind) {
+		long sequence = written.get();
+		int index = (int) (sequence % slots);
+		lastState = service.getState();
+		lastProgress = service.getProgress();
+		lastMessage = service.getMessage();
+		timestamps[index] = System.nanoTime();
+		kinds[index] = (byte) kind.ordinal();
+		states[index] = lastState;
+		progresses[index] = lastProgress;
+		messages[index] = lastMessage;
+		written.lazySet(sequence + 1);
+	}
+	
+	/**
+	 * @return the recorded events, the oldest first
+	 */
+	public List<Transition> getTransitions() {
+		long end = written.get();
+		long start = Math.max(0, end - capacity);
+		List<Transition> transitions = new ArrayList<>((int) (end - start));
+		for (long sequence = start; sequence < end; sequence++) {
+			int index = (int) (sequence % slots);
+			transitions.add(new Transition(KINDS[kinds[index]], timestamps[index], states[index], progresses[index],
+					messages[index]));
+		}
+		// drop the events which were overwritten while they were copied, including the slot which is being written
+		long overwritten = written.get() - capacity - start;
+		if (overwritten > 0) {
+			return new ArrayList<>(transitions.subList((int) Math.min(overwritten, transitions.size()),
+					transitions.size()));
+		}
+		return transitions;
+	}
+	
+	/**
+	 * @return the number of events which were overwritten because the capacity was exceeded
+	 */
+	public long getDroppedCount() {
+		return Math.max(0, written.get() - capacity);
+	}
+	
+	/**
+	 * @param kind
+	 *            of the events
+	 * @return the number of recorded events of the kind (without the dropped ones)
+	 */
+	public int getCount(Kind kind) {
+		int count = 0;
+		for (Transition transition : getTransitions()) {
+			if (transition.getKind() == kind) {
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * @param state
+	 *            to be reached
+	 * @param unit
+	 *            of the result
+	 * @return the time between the last start or restart and the first transition to the state afterwards, or -1 if
+	 *         the state was not reached
+	 */
+	public long getTimeToState(State state, TimeUnit unit) {
+		List<Transition> transitions = getTransitions();
+		int lastStart = -1;
+		for (int i = 0; i < transitions.size(); i++) {
+			if (transitions.get(i).getKind() == Kind.START) {
+				lastStart = i;
+			}
+		}
+		if (lastStart < 0) {
+			return -1;
+		}
+		long startTime = transitions.get(lastStart).getNanoTime();
+		for (Transition transition : transitions.subList(lastStart + 1, transitions.size())) {
+			if (transition.getKind() == Kind.STATE && transition.getState() == state) {
+				return unit.convert(transition.getNanoTime() - startTime, TimeUnit.NANOSECONDS);
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * A recorded event with the values of the Service at this time.
+	 */
+	public static final class Transition {
+		
+		private final Kind kind;
+		private final long nanoTime;
+		private final State state;
+		private final double progress;
+		private final String message;
+		
+		Transition(Kind kind, long nanoTime, State state, double progress, String message) {
+			this.kind = kind;
+			this.nanoTime = nanoTime;
+			this.state = state;
+			this.progress = progress;
+			this.message = message;
+		}
+		
+		public Kind getKind() {
+			return kind;
+		}
+		
+		/**
+		 * @return the timestamp of {@link System#nanoTime()}
+		 */
+		public long getNanoTime() {
+			return nanoTime;
+		}
+		
+		public State getState() {
+			return state;
+		}
+		
+		public double getProgress() {
+			return progress;
+		}
+		
+		public String getMessage() {
+			return message;
+		}
+		
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "%s at %d: state %s, progress %.3f, message %s", kind, nanoTime, state,
+					progress, message);
+		}
+	}
+}
@@ -0,0 +1,197 @@
+package de.saxsys.javafx.test.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+/**
+ * Condition over one or several {@link ObservableValue}s, which can be awaited with
+ * {@link ServiceWrapper#waitFor(WaitCondition, long)} and the related methods of the {@link ServiceWrapper}.
+ * 
+ * <pre>
+ * wrapper.startAndWaitFor(WaitCondition.allOf(
+ * 		WaitCondition.equalTo(service::stateProperty, State.SUCCEEDED),
+ * 		WaitCondition.of(service::valueProperty, Objects::nonNull)), 5000);
+ * </pre>
+ * 
+ * The conditions are evaluated in the UI-Thread whenever one of the observables changes.
+ * 
+ * @author sialcasa
+ */
+public abstract class WaitCondition {
+	
+	WaitCondition() {
+	}
+	
+	/**
+	 * @param observableGetter
+	 *            which is the value to be tested (e.g. {@link javafx.concurrent.Service#progressProperty()})
+	 * @param predicate
+	 *            which has to be fulfilled by the value (e.g. <code>(Number p) -&gt; p.doubleValue() &gt;= 0.5</code>)
+	 * @return the condition
+	 */
+	public static <T> WaitCondition of(ObservableGetter observableGetter, Predicate<T> predicate) {
+		return of(observableGetter, predicate, "predicate");
+	}
+	
+	/**
+	 * @param observableGetter
+	 *            which is the value to be tested (e.g. {@link javafx.concurrent.Service#progressProperty()})
+	 * @param predicate
+	 *            which has to be fulfilled by the value
+	 * @param description
+	 *            of the predicate, which is used in the message of the {@link java.util.concurrent.TimeoutException}
+	 * @return the condition
+	 */
+	public static <T> WaitCondition of(ObservableGetter observableGetter, Predicate<T> predicate, String description) {
+		return new Leaf<>(observableGetter, predicate, description);
+	}
+	
+	/**
+	 * @param observableGetter
+	 *            which is the value to be tested (e.g. {@link javafx.concurrent.Service#stateProperty()})
+	 * @param targetValue
+	 *            which has to be equal to the value (e.g. {@link javafx.concurrent.Worker.State#SUCCEEDED})
+	 * @return the condition
+	 */
+	public static WaitCondition equalTo(ObservableGetter observableGetter, Object targetValue) {
+		return of(observableGetter, value -> Objects.equals(value, targetValue), "equal to " + targetValue);
+	}
+	
+	/**
+	 * @return a condition which is fulfilled if all of the given conditions are fulfilled
+	 */
+	public static WaitCondition allOf(WaitCondition... conditions) {
+		return new Composite(true, conditions);
+	}
+	
+	/**
+	 * @return a condition which is fulfilled if any of the given conditions is fulfilled
+	 */
+	public static WaitCondition anyOf(WaitCondition... conditions) {
+		return new Composite(false, conditions);
+	}
+	
+	/**
+	 * Adds the listener to all observables of the condition. Has to be called in the UI-Thread.
+	 */
+	abstract void addListener(ChangeListener<Object> listener);
+	
+	/**
+	 * Removes the listener from all observables of the condition. Has to be called in the UI-Thread.
+	 */
+	abstract void removeListener(ChangeListener<Object> listener);
+	
+	/**
+	 * Evaluates the condition with the current values. Has to be called in the UI-Thread after
+	 * {@link #addListener(ChangeListener)}.
+	 */
+	abstract boolean test();
+	
+	/**
+	 * @return the condition together with the last values which were observed
+	 */
+	@Override
+	public abstract String toString();
+	
+	private static class Leaf<T> extends WaitCondition {
+		
+		private final ObservableGetter observableGetter;
+		
+		private final Predicate<T> predicate;
+		
+		private final String description;
+		
+		private ObservableValue<T> observable;
+		
+		private volatile Object lastValue;
+		
+		private volatile boolean observed;
+		
+		Leaf(ObservableGetter observableGetter, Predicate<T> predicate, String description) {
+			this.observableGetter = observableGetter;
+			this.predicate = predicate;
+			this.description = description;
+		}
+		
+		@Override
+		@SuppressWarnings("unchecked")
+		void addListener(ChangeListener<Object> listener) {
+			observable = observableGetter.getValue();
+			observable.addListener(listener);
+		}
+		
+		@Override
+		void removeListener(ChangeListener<Object> listener) {
+			if (observable != null) {
+				observable.removeListener(listener);
+			}
+		}
+		
+		@Override
+		boolean test() {
+			T value = observable.getValue();
+			lastValue = value;
+			observed = true;
+			return predicate.test(value);
+		}
+		
+		@Override
+		public String toString() {
+			String name = observable instanceof ReadOnlyProperty ? ((ReadOnlyProperty<?>) observable).getName() : "value";
+			return name + " " + description + " (last value: " + (observed ? lastValue : "not observed") + ")";
+		}
+	}
+	
+	private static class Composite extends WaitCondition {
+		
+		private final boolean all;
+		
+		private final List<WaitCondition> conditions;
+		
+		Composite(boolean all, WaitCondition... conditions) {
+			this.all = all;
+			this.conditions = new ArrayList<>(Arrays.asList(conditions));
+		}
+		
+		@Override
+		void addListener(ChangeListener<Object> listener) {
+			for (WaitCondition condition : conditions) {
+				condition.addListener(listener);
+			}
+		}
+		
+		@Override
+		void removeListener(ChangeListener<Object> listener) {
+			for (WaitCondition condition : conditions) {
+				condition.removeListener(listener);
+			}
+		}
+		
+		@Override
+		boolean test() {
+			// evaluate all conditions, so every value is observed
+			boolean result = all;
+			for (WaitCondition condition : conditions) {
+				boolean fulfilled = condition.test();
+				result = all ? result && fulfilled : result || fulfilled;
+			}
+			return result;
+		}
+		
+		@Override
+		public String toString() {
+			StringBuilder builder = new StringBuilder(all ? "allOf(" : "anyOf(");
+			for (int i = 0; i < conditions.size(); i++) {
+				builder.append(i > 0 ? ", " : "").append(conditions.get(i));
+			}
+			return builder.append(')').toString();
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package de.saxsys.javafx.test.service;
+
+import java.util.concurrent.Executor;
+
+import de.saxsys.javafx.test.ServiceCleanup.WorkerThreads;
+
+/**
+ * Executor which records the threads that run the tasks of a Service, so they can be awaited after the Service was
+ * cancelled. It is set on the Service only while the Service starts a task, see {@link ServiceWrapper}.
+ * 
+ * @author sialcasa
+ */
+class WorkerTrackingExecutor implements Executor {
+	
+	private final Executor delegate;
+	
+	private final WorkerThreads workerThreads;
+	
+	WorkerTrackingExecutor(Executor delegate, WorkerThreads workerThreads) {
+		this.delegate = delegate;
+		this.workerThreads = workerThreads;
+	}
+	
+	@Override
+	public void execute(Runnable command) {
+		delegate.execute(workerThreads.track(command));
+	}
+}
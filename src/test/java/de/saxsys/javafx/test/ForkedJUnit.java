@@ -0,0 +1,70 @@
+package de.saxsys.javafx.test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.runner.JUnitCore;
+
+/**
+ * Runs a test class with JUnit in a fresh JVM with the classpath of the current one. For the features which are
+ * configured once per JVM, like the boot mode of JavaFX or the detectors which are enabled by system properties. The
+ * headless mode of the current JVM is passed on.
+ */
+final class ForkedJUnit {
+	
+	private final int exitCode;
+	
+	private final String output;
+	
+	private ForkedJUnit(int exitCode, String output) {
+		this.exitCode = exitCode;
+		this.output = output;
+	}
+	
+	/**
+	 * @param testClass
+	 *            to run
+	 * @param jvmOptions
+	 *            of the fresh JVM, e.g. system properties
+	 * @return the result of the run
+	 */
+	static ForkedJUnit run(Class<?> testClass, String... jvmOptions) throws IOException, InterruptedException {
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		if (Boolean.getBoolean(SingleJfxApplication.HEADLESS_PROPERTY)) {
+			command.add("-D" + SingleJfxApplication.HEADLESS_PROPERTY + "=true");
+		}
+		command.addAll(Arrays.asList(jvmOptions));
+		command.addAll(Arrays.asList("-cp", System.getProperty("java.class.path"), JUnitCore.class.getName(),
+				testClass.getName()));
+		
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		String output;
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(),
+				Charset.defaultCharset()))) {
+			output = reader.lines().collect(Collectors.joining(System.lineSeparator()));
+		}
+		return new ForkedJUnit(process.waitFor(), output);
+	}
+	
+	/**
+	 * @return whether all tests passed
+	 */
+	boolean succeeded() {
+		return exitCode == 0;
+	}
+	
+	/**
+	 * @return stdout and stderr of the JVM
+	 */
+	String getOutput() {
+		return output;
+	}
+}
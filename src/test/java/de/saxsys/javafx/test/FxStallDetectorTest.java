@@ -0,0 +1,74 @@
+package de.saxsys.javafx.test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+/**
+ * The detector is enabled when JavaFX starts, so it is tested in a fresh JVM.
+ */
+public class FxStallDetectorTest {
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	@Test(timeout = 60000)
+	public void testStallFailsTheTest() throws Exception {
+		ForkedJUnit fork = ForkedJUnit.run(Stalling.class, "-D" + FxStallDetector.THRESHOLD_PROPERTY + "=100",
+				"-D" + FxStallDetector.DIRECTORY_PROPERTY + "=" + folder.getRoot(),
+				"-D" + FxStallDetector.FAIL_PROPERTY + "=true");
+		assertFalse(fork.getOutput(), fork.succeeded());
+		assertTrue(fork.getOutput(), fork.getOutput().contains("Tests run: 2,  Failures: 1"));
+		assertTrue(fork.getOutput(), fork.getOutput().contains("testBlocksTheFxThread"));
+		assertTrue(fork.getOutput(), fork.getOutput().contains("The JavaFX-thread stalled"));
+		assertProfile();
+	}
+	
+	@Test(timeout = 60000)
+	public void testStallIsOnlyReported() throws Exception {
+		ForkedJUnit fork = ForkedJUnit.run(Stalling.class, "-D" + FxStallDetector.THRESHOLD_PROPERTY + "=100",
+				"-D" + FxStallDetector.DIRECTORY_PROPERTY + "=" + folder.getRoot());
+		assertTrue(fork.getOutput(), fork.succeeded());
+		assertProfile();
+	}
+	
+	private void assertProfile() throws Exception {
+		Path directory = folder.getRoot().toPath();
+		assertFalse(Files.exists(directory.resolve(
+				"testDoesNotBlockTheFxThread(de.saxsys.javafx.test.FxStallDetectorTest_Stalling).collapsed")));
+		List<String> profile = Files.readAllLines(directory.resolve(
+				"testBlocksTheFxThread(de.saxsys.javafx.test.FxStallDetectorTest_Stalling).collapsed"),
+				StandardCharsets.UTF_8);
+		assertFalse(profile.isEmpty());
+		String mostFrequent = profile.get(0);
+		assertTrue(mostFrequent, mostFrequent.contains("FxStallDetectorTest$Stalling.testBlocksTheFxThread;"));
+		assertTrue(mostFrequent, mostFrequent.contains("java.lang.Thread.sleep"));
+	}
+	
+	/**
+	 * Runs in the fresh JVM.
+	 */
+	@RunWith(JfxRunner.class)
+	public static class Stalling {
+		
+		@Test
+		@TestInJfxThread
+		public void testBlocksTheFxThread() throws Exception {
+			Thread.sleep(500);
+		}
+		
+		@Test
+		@TestInJfxThread
+		public void testDoesNotBlockTheFxThread() throws Exception {
+		}
+	}
+}
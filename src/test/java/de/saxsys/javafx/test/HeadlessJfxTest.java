@@ -0,0 +1,42 @@
+package de.saxsys.javafx.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * JavaFX is started only once per JVM, so the headless boot is tested in a fresh JVM.
+ */
+public class HeadlessJfxTest {
+	
+	@Test(timeout = 60000)
+	public void testHeadlessBoot() throws Exception {
+		ForkedJUnit fork = ForkedJUnit.run(Headless.class);
+		assertTrue(fork.getOutput(), fork.succeeded());
+	}
+	
+	/**
+	 * Runs in the fresh JVM.
+	 */
+	@HeadlessJfx
+	@RunWith(JfxRunner.class)
+	public static class Headless {
+		
+		@PooledStage
+		private Stage stage;
+		
+		@Test
+		@TestInJfxThread
+		public void testStageIsShownWithMonocle() throws Exception {
+			assertTrue(Platform.isFxApplicationThread());
+			assertTrue(JfxBootMetrics.isHeadless());
+			assertEquals("Monocle", System.getProperty("glass.platform"));
+			assertTrue(stage.isShowing());
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package de.saxsys.javafx.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+
+//Runs without a display with -Djfxrunner.headless=true (see HeadlessJfxTest)
+@RunWith(JfxRunner.class)
+public class JfxBootMetricsListenerTest {
+	
+	private static final Pattern JSON_LINE = Pattern.compile("\\{\"mode\":\"(windowed|headless)\","
+			+ "\"toolkitReadyMillis\":(\\d+),\"firstPulseMillis\":(-?\\d+),\"jvmUptimeMillis\":(\\d+)"
+			+ "(,\"rssBytes\":\\d+)?\\}");
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	@Test
+	public void testJsonLine() throws Exception {
+		File file = new File(folder.getRoot(), "boot.json");
+		System.setProperty(JfxBootMetricsListener.FILE_PROPERTY, file.getPath());
+		try {
+			new JfxBootMetricsListener().testRunFinished(new Result());
+			new JfxBootMetricsListener().testRunFinished(new Result());
+		} finally {
+			System.clearProperty(JfxBootMetricsListener.FILE_PROPERTY);
+		}
+		
+		List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+		assertEquals(2, lines.size());
+		Matcher matcher = JSON_LINE.matcher(lines.get(0));
+		assertTrue(lines.get(0), matcher.matches());
+		long toolkitReady = Long.parseLong(matcher.group(2));
+		assertEquals(JfxBootMetrics.getTimeToToolkitReady(TimeUnit.MILLISECONDS), toolkitReady);
+		assertTrue(toolkitReady <= Long.parseLong(matcher.group(4)));
+	}
+}
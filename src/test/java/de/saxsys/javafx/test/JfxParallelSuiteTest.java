@@ -0,0 +1,94 @@
+package de.saxsys.javafx.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.application.Platform;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite.SuiteClasses;
+
+//Runs without a display with -Djfxrunner.headless=true (see HeadlessJfxTest)
+public class JfxParallelSuiteTest {
+	
+	/** The tests without FX-thread of both classes have to reach the barrier at the same time. */
+	private static final CyclicBarrier BARRIER = new CyclicBarrier(2);
+	
+	/** Number of tests which are in the JavaFX-thread right now. */
+	private static final AtomicInteger IN_FX_THREAD = new AtomicInteger();
+	
+	/** Number of tests which found another test in the JavaFX-thread. */
+	private static final AtomicInteger OVERLAPS = new AtomicInteger();
+	
+	private static final AtomicInteger FX_TESTS = new AtomicInteger();
+	
+	@Test
+	public void testClassesRunConcurrently() throws Exception {
+		Result result = JUnitCore.runClasses(ParallelClasses.class);
+		Assert.assertTrue(result.getFailures().toString(), result.wasSuccessful());
+		assertEquals(4, result.getRunCount());
+		assertEquals(2, FX_TESTS.get());
+		assertEquals(0, OVERLAPS.get());
+	}
+	
+	@RunWith(JfxParallelSuite.class)
+	@SuiteClasses({ First.class, Second.class })
+	@RunInParallel(threads = 2)
+	public static class ParallelClasses {
+	}
+	
+	@RunWith(JfxRunner.class)
+	public static class First {
+		
+		@Test
+		public void testOverlapsWithSecond() throws Exception {
+			meetOtherClass();
+		}
+		
+		@Test
+		@TestInJfxThread
+		public void testTakesTurnInFxThread() throws Exception {
+			occupyFxThread();
+		}
+	}
+	
+	@RunWith(JfxRunner.class)
+	public static class Second {
+		
+		@Test
+		public void testOverlapsWithFirst() throws Exception {
+			meetOtherClass();
+		}
+		
+		@Test
+		@TestInJfxThread
+		public void testTakesTurnInFxThread() throws Exception {
+			occupyFxThread();
+		}
+	}
+	
+	private static void meetOtherClass() throws Exception {
+		Assert.assertFalse(Platform.isFxApplicationThread());
+		BARRIER.await(5, TimeUnit.SECONDS);
+	}
+	
+	private static void occupyFxThread() throws Exception {
+		Assert.assertTrue(Platform.isFxApplicationThread());
+		FX_TESTS.incrementAndGet();
+		if (IN_FX_THREAD.incrementAndGet() > 1) {
+			OVERLAPS.incrementAndGet();
+		}
+		try {
+			Thread.sleep(100);
+		} finally {
+			IN_FX_THREAD.decrementAndGet();
+		}
+	}
+}
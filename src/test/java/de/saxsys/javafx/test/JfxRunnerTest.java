@@ -2,20 +2,41 @@ package de.saxsys.javafx.test;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import javafx.application.Platform;
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
 import javafx.concurrent.Worker.State;
 
 import org.junit.Assert;
+import org.junit.FixMethodOrder;
 import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
 import org.junit.runner.RunWith;
+import org.junit.runner.notification.Failure;
+import org.junit.runners.MethodSorters;
 
+import de.saxsys.javafx.test.service.ServiceLoadReport;
+import de.saxsys.javafx.test.service.ServiceLoadTest;
+import de.saxsys.javafx.test.service.ServiceMock;
 import de.saxsys.javafx.test.service.ServiceWrapper;
+import de.saxsys.javafx.test.service.SteppingExecutor;
+import de.saxsys.javafx.test.service.TestExecutors;
+import de.saxsys.javafx.test.service.TransitionRecorder;
+import de.saxsys.javafx.test.service.WaitCondition;
 
-//Tests dont run in travis CI because its headless
+//Runs without a display with -Djfxrunner.headless=true (see HeadlessJfxTest)
 @RunWith(JfxRunner.class)
 public class JfxRunnerTest {
 	
@@ -35,6 +56,12 @@ public class JfxRunnerTest {
 		Assert.assertTrue(Platform.isFxApplicationThread());
 	}
 	
+	@Test(timeout = 5000)
+	@TestInJfxThread
+	public void testWithFXThreadAndTimeout() throws Exception {
+		Assert.assertTrue(Platform.isFxApplicationThread());
+	}
+	
 	@Test
 	public void testMultipleServiceCallsUsingTargetValue() throws ExecutionException, InterruptedException,
 			TimeoutException {
@@ -51,6 +78,23 @@ public class JfxRunnerTest {
 		assertEquals(State.SUCCEEDED, wrapper.getState());
 	}
 	
+	@Test
+	public void testFailingServiceCallUsingTargetValue() throws Exception {
+		ServiceToTest service = new ServiceToTest();
+		ServiceWrapper wrapper = new ServiceWrapper(service);
+		wrapper.startAndWaitForValue(service::stateProperty, State.SUCCEEDED, 5000);
+		
+		// a SUCCEEDED Service can't be started again, the call fails instead of waiting for the timeout
+		long start = System.nanoTime();
+		try {
+			wrapper.startAndWaitForValue(service::stateProperty, State.SUCCEEDED, 5);
+			Assert.fail("ExecutionException expected");
+		} catch (ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+		Assert.assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5);
+	}
+	
 	@Test
 	public void testMultipleServiceCallsWithWrapper() throws Exception {
 		
@@ -73,4 +117,400 @@ public class JfxRunnerTest {
 		
 	}
 	
+	@Test
+	public void testSnapshotAndInFx() throws Exception {
+		ServiceWrapper wrapper = new ServiceWrapper(new ServiceToTest());
+		wrapper.startAndWait(5000);
+		
+		ServiceMock<?> snapshot = wrapper.snapshot();
+		assertEquals(State.SUCCEEDED, snapshot.getState());
+		assertEquals("I'm an expensive result 1", snapshot.getValue());
+		assertEquals("Test", snapshot.getMessage());
+		assertEquals(1.0, snapshot.getProgress(), 0);
+		
+		assertEquals("I'm an expensive result 1 Test", wrapper.inFx(s -> s.getValue() + " " + s.getMessage()));
+	}
+	
+	@Test
+	public void testLiveMirror() throws Exception {
+		ServiceWrapper wrapper = new ServiceWrapper(new ServiceToTest(), true);
+		assertEquals(State.READY, wrapper.getState());
+		
+		wrapper.startAndWait(5000);
+		assertEquals(State.SUCCEEDED, wrapper.getState());
+		assertEquals("I'm an expensive result 1", wrapper.getValue());
+		assertEquals("Test", wrapper.getMessage());
+		
+		wrapper.reset();
+		assertEquals(State.READY, wrapper.getState());
+		assertEquals(null, wrapper.getValue());
+		wrapper.dispose();
+	}
+	
+	@Test
+	public void testSteppingExecutor() throws Exception {
+		ServiceWrapper wrapper = new ServiceWrapper(new ServiceToTest());
+		SteppingExecutor executor = TestExecutors.stepping();
+		wrapper.setExecutor(executor);
+		
+		wrapper.inFx(s -> {
+			s.start();
+			return null;
+		});
+		assertEquals(1, executor.getPendingTasks());
+		
+		Assert.assertTrue(executor.runNext());
+		// the state changes of the task are queued in the UI-Thread before this call
+		assertEquals(State.SUCCEEDED, wrapper.getState());
+		assertEquals("I'm an expensive result 1", wrapper.getValue());
+	}
+	
+	@Test
+	public void testSharedPoolExecutor() throws Exception {
+		ServiceWrapper wrapper = new ServiceWrapper(new ServiceToTest());
+		wrapper.setExecutor(TestExecutors.sharedPool());
+		
+		wrapper.startAndWait(5000);
+		assertEquals("I'm an expensive result 1", wrapper.getValue());
+		wrapper.restartAndWait(5000);
+		assertEquals("I'm an expensive result 2", wrapper.getValue());
+	}
+	
+	@Test
+	public void testWaitForConditions() throws Exception {
+		ServiceToTest service = new ServiceToTest();
+		ServiceWrapper wrapper = new ServiceWrapper(service);
+		
+		wrapper.startAndWaitFor(WaitCondition.allOf(
+				WaitCondition.equalTo(service::stateProperty, State.SUCCEEDED),
+				WaitCondition.of(service::valueProperty, Objects::nonNull)), 5000);
+		assertEquals("I'm an expensive result 1", wrapper.getValue());
+		
+		// already fulfilled
+		wrapper.waitFor(WaitCondition.anyOf(
+				WaitCondition.equalTo(service::stateProperty, State.FAILED),
+				WaitCondition.of(service::progressProperty, (Number p) -> p.doubleValue() >= 0.5)), 1000);
+		
+		try {
+			wrapper.waitFor(WaitCondition.equalTo(service::messageProperty, "Other"), 100);
+			Assert.fail("TimeoutException expected");
+		} catch (TimeoutException e) {
+			Assert.assertTrue(e.getMessage(), e.getMessage().contains("last value: Test"));
+		}
+	}
+	
+	@Test
+	public void testAsyncServiceCalls() throws Exception {
+		ServiceWrapper first = new ServiceWrapper(new ServiceToTest());
+		ServiceWrapper second = new ServiceWrapper(new ServiceToTest());
+		
+		// both services run at the same time
+		CompletableFuture.allOf(first.startAsync(), second.startAsync()).get(1900, TimeUnit.MILLISECONDS);
+		
+		String values = first.getValueAsync()
+				.thenCombine(second.getMessageAsync(), (value, message) -> value + " " + message)
+				.get(5, TimeUnit.SECONDS);
+		assertEquals("I'm an expensive result 1 Test", values);
+		
+		first.restartAsync().get(5, TimeUnit.SECONDS);
+		assertEquals(State.SUCCEEDED, first.getStateAsync().get());
+		assertEquals("I'm an expensive result 2", first.getValue());
+	}
+	
+	@Test
+	public void testServiceLoadTest() throws Exception {
+		ServiceLoadReport report = new ServiceLoadTest(ServiceToTest::new)
+				.concurrency(4)
+				.iterations(8)
+				.maxLatency(State.SUCCEEDED, 99, 5000)
+				.run();
+		
+		assertEquals(8, report.getCycles());
+		assertEquals(8, report.getLatency(State.SUCCEEDED).getCount());
+		assertEquals(0, report.getLatency(State.FAILED).getCount());
+	}
+	
+	@Test
+	public void testServiceLoadTestWithoutSamples() throws Exception {
+		ServiceLoadTest loadTest = new ServiceLoadTest(ServiceToTest::new)
+				.concurrency(2)
+				.iterations(2)
+				.maxLatency(State.FAILED, 99, 5000);
+		try {
+			loadTest.run();
+			Assert.fail("AssertionError expected");
+		} catch (AssertionError e) {
+			// no Service failed, so the objective can't be met
+			Assert.assertTrue(e.getMessage(), e.getMessage().contains("p99.0 of FAILED has no samples"));
+			Assert.assertTrue(e.getMessage(), e.getMessage().contains("2 cycles"));
+		}
+	}
+	
+	@Test
+	public void testTransitionRecorder() throws Exception {
+		ServiceWrapper wrapper = new ServiceWrapper(new ServiceToTest());
+		TransitionRecorder recorder = wrapper.record(64);
+		wrapper.startAndWait(5000);
+		
+		long timeToRunning = recorder.getTimeToState(State.RUNNING, TimeUnit.MILLISECONDS);
+		long timeToSucceeded = recorder.getTimeToState(State.SUCCEEDED, TimeUnit.MILLISECONDS);
+		Assert.assertTrue(timeToRunning >= 0);
+		Assert.assertTrue(timeToSucceeded >= 1000);
+		assertEquals(1, recorder.getCount(TransitionRecorder.Kind.START));
+		Assert.assertTrue(recorder.getCount(TransitionRecorder.Kind.PROGRESS) >= 1);
+		assertEquals(0, recorder.getDroppedCount());
+		wrapper.stopRecording();
+	}
+	
+	@Test
+	@TestInJfxThread
+	@MaxDuration(5000)
+	@MaxFxThreadTime(5000)
+	@MaxAllocatedBytes(100 * 1024 * 1024)
+	public void testWithinPerformanceBudget() throws Exception {
+		Assert.assertTrue(Platform.isFxApplicationThread());
+	}
+	
+	@Test
+	public void testMaxFxThreadTime() throws Exception {
+		Result result = JUnitCore.runClasses(FxThreadTimeBudgets.class);
+		assertEquals(2, result.getRunCount());
+		assertEquals(result.getFailures().toString(), 1, result.getFailureCount());
+		Failure exceeded = result.getFailures().get(0);
+		assertEquals("testOwnWorkIsCounted", exceeded.getDescription().getMethodName());
+		Assert.assertTrue(exceeded.getMessage(), exceeded.getMessage().contains("@MaxFxThreadTime: occupied the "
+				+ "JavaFX-thread for"));
+	}
+	
+	@Test
+	public void testServiceIsCancelledOnTimeout() throws Exception {
+		ServiceToTest service = new ServiceToTest();
+		ServiceWrapper wrapper = new ServiceWrapper(service);
+		try {
+			wrapper.startAndWait(100);
+			Assert.fail("TimeoutException expected");
+		} catch (TimeoutException e) {
+			wrapper.waitFor(WaitCondition.equalTo(service::stateProperty, State.CANCELLED), 5000);
+		}
+		// the shared thread pool of JavaFX is kept
+		Assert.assertNull(wrapper.inFx(s -> s.getExecutor()));
+		
+		try {
+			wrapper.restartAndWaitFor(WaitCondition.equalTo(service::stateProperty, State.SUCCEEDED), 100);
+			Assert.fail("TimeoutException expected");
+		} catch (TimeoutException e) {
+			wrapper.waitFor(WaitCondition.equalTo(service::stateProperty, State.CANCELLED), 5000);
+		}
+	}
+	
+	@Test
+	public void testWorkerThreadsOfTheSharedPoolAreAwaited() throws Exception {
+		Result result = JUnitCore.runClasses(ServiceOutlivingTheTest.class);
+		Assert.assertTrue(result.getFailures().toString(), result.wasSuccessful());
+		// the task ignores the cancellation, the runner waited for its worker thread
+		Assert.assertTrue(ServiceOutlivingTheTest.taskFinished);
+	}
+	
+	@Test
+	public void testDeadlockWithTheFxThreadIsDetected() throws Exception {
+		Object lock = new Object();
+		CountDownLatch fxThreadWaits = new CountDownLatch(1);
+		synchronized (lock) {
+			Platform.runLater(() -> {
+				fxThreadWaits.countDown();
+				synchronized (lock) {
+					// needs the lock of the test
+				}
+			});
+			Assert.assertTrue(fxThreadWaits.await(5, TimeUnit.SECONDS));
+			try {
+				FxDispatcher.call(() -> null);
+				Assert.fail("IllegalStateException expected");
+			} catch (IllegalStateException e) {
+				Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Deadlock: the JavaFX-thread waits for"));
+			}
+		}
+	}
+	
+	@Test
+	@TestInJfxThread
+	public void testAsyncCallInFxThreadIsDoneDirectly() throws Exception {
+		ServiceWrapper wrapper = new ServiceWrapper(new ServiceToTest());
+		CompletableFuture<State> state = wrapper.getStateAsync();
+		Assert.assertTrue(state.isDone());
+		assertEquals(State.READY, state.get());
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFxProxy() throws Exception {
+		Supplier<Boolean> inFxThread = FxProxy.create(Supplier.class,
+				(Supplier<Boolean>) Platform::isFxApplicationThread);
+		Assert.assertTrue(inFxThread.get());
+		
+		List<String> list = FxProxy.create(List.class, new ArrayList<String>(), true);
+		list.add("first");
+		list.add("second");
+		list.clear();
+		list.add("third");
+		assertEquals(1, list.size());
+	}
+	
+	@Test
+	@TestInJfxThread
+	public void testServiceWrapperInFXThread() throws Exception {
+		ServiceWrapper wrapper = new ServiceWrapper(new ServiceToTest());
+		assertEquals(State.READY, wrapper.getState());
+		try {
+			wrapper.startAndWait(5000);
+			Assert.fail("IllegalStateException expected");
+		} catch (IllegalStateException e) {
+			// waiting would block the JavaFX-thread
+		}
+	}
+	
+	@Test
+	public void testWaitForFxIdle() throws Exception {
+		AtomicBoolean ran = new AtomicBoolean();
+		Platform.runLater(() -> ran.set(true));
+		FxIdle.waitForFxIdle(5000);
+		Assert.assertTrue(ran.get());
+	}
+	
+	@Test
+	public void testTimeoutOfBlockingTestInFXThread() throws Exception {
+		try {
+			Result result = JUnitCore.runClasses(BlockingTestsInFXThread.class);
+			assertEquals(2, result.getRunCount());
+			assertEquals(2, result.getFailureCount());
+			Failure timeout = result.getFailures().get(0);
+			assertEquals("test1Blocks", timeout.getDescription().getMethodName());
+			Assert.assertTrue(timeout.getMessage(), timeout.getMessage().contains("timed out after 100 milliseconds"));
+			Failure blocked = result.getFailures().get(1);
+			assertEquals("test2WhileBlocked", blocked.getDescription().getMethodName());
+			Assert.assertTrue(blocked.getMessage(), blocked.getMessage().contains("is still blocked by the timed out "
+					+ "test test1Blocks"));
+		} finally {
+			BlockingTestsInFXThread.UNBLOCK.countDown();
+		}
+		
+		// the blocking test is released when the JavaFX-thread runs the next runnable
+		CountDownLatch released = new CountDownLatch(1);
+		Platform.runLater(released::countDown);
+		Assert.assertTrue(released.await(5, TimeUnit.SECONDS));
+		
+		Result result = JUnitCore.runClasses(TestInFXThreadAfterTimeout.class);
+		assertEquals(1, result.getRunCount());
+		assertEquals(result.getFailures().toString(), 0, result.getFailureCount());
+	}
+	
+	/**
+	 * Run by {@link JfxRunnerTest#testMaxFxThreadTime()}.
+	 */
+	@RunWith(JfxRunner.class)
+	public static class ServiceOutlivingTheTest {
+		
+		static volatile boolean taskFinished;
+		
+		@Test
+		public void testServiceIsRunningAtTheEnd() throws Exception {
+			CountDownLatch running = new CountDownLatch(1);
+			ServiceWrapper wrapper = new ServiceWrapper(new Service<Void>() {
+				@Override
+				protected Task<Void> createTask() {
+					return new Task<Void>() {
+						@Override
+						protected Void call() throws Exception {
+							running.countDown();
+							long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+							while (System.nanoTime() < end) {
+								Thread.yield();
+							}
+							taskFinished = true;
+							return null;
+						}
+					};
+				}
+			});
+			wrapper.startAsync();
+			Assert.assertTrue(running.await(5, TimeUnit.SECONDS));
+			// the executor of the test was only set while the Service started
+			Assert.assertNull(wrapper.getExecutor());
+		}
+	}
+	
+	@RunWith(JfxRunner.class)
+	public static class FxThreadTimeBudgets {
+		
+		@Test
+		@MaxFxThreadTime(100)
+		public void testOwnWorkIsCounted() throws Exception {
+			// sleeping is no CPU time, but it occupies the JavaFX-thread
+			new ServiceWrapper(new ServiceToTest()).inFx(service -> sleep(300));
+		}
+		
+		@Test
+		@MaxFxThreadTime(100)
+		public void testOtherWorkIsNotCounted() throws Exception {
+			CountDownLatch done = new CountDownLatch(1);
+			Platform.runLater(() -> {
+				sleep(300);
+				done.countDown();
+			});
+			Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+		}
+		
+		private static Void sleep(long millis) {
+			try {
+				Thread.sleep(millis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return null;
+		}
+	}
+	
+	/**
+	 * Run by {@link JfxRunnerTest#testTimeoutOfBlockingTestInFXThread()}.
+	 */
+	@RunWith(JfxRunner.class)
+	@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+	public static class BlockingTestsInFXThread {
+		
+		static final CountDownLatch UNBLOCK = new CountDownLatch(1);
+		
+		@Test(timeout = 100)
+		@TestInJfxThread
+		public void test1Blocks() throws Exception {
+			// ignores the interrupt of the watchdog
+			while (UNBLOCK.getCount() > 0) {
+				try {
+					UNBLOCK.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					// keep blocking
+				}
+			}
+		}
+		
+		@Test
+		@TestInJfxThread
+		public void test2WhileBlocked() throws Exception {
+			Assert.fail("must not run while the JavaFX-thread is blocked");
+		}
+	}
+	
+	/**
+	 * Run by {@link JfxRunnerTest#testTimeoutOfBlockingTestInFXThread()}.
+	 */
+	@RunWith(JfxRunner.class)
+	public static class TestInFXThreadAfterTimeout {
+		
+		@Test
+		@TestInJfxThread
+		public void testNotInterrupted() throws Exception {
+			Assert.assertTrue(Platform.isFxApplicationThread());
+			Assert.assertFalse(Thread.currentThread().isInterrupted());
+		}
+	}
+	
 }
@@ -0,0 +1,39 @@
+package de.saxsys.javafx.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+	
+	@Test
+	public void testBucketsAreContinuous() {
+		for (int index = 1; index < 900; index++) {
+			assertEquals(index, LatencyHistogram.index(LatencyHistogram.lowerBound(index)));
+			assertEquals(index - 1, LatencyHistogram.index(LatencyHistogram.lowerBound(index) - 1));
+		}
+	}
+	
+	@Test
+	public void testPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L);
+		}
+		
+		assertEquals(1000, histogram.getCount());
+		assertEquals(1000000, histogram.getMax());
+		assertWithinBucketError(500000, histogram.getPercentile(50));
+		assertWithinBucketError(990000, histogram.getPercentile(99));
+	}
+	
+	@Test
+	public void testEmptyHistogram() {
+		assertEquals(0, new LatencyHistogram().getPercentile(99));
+	}
+	
+	private static void assertWithinBucketError(long expected, long actual) {
+		assertTrue("expected about " + expected + " but was " + actual, Math.abs(expected - actual) <= expected / 16);
+	}
+}
@@ -0,0 +1,82 @@
+package de.saxsys.javafx.test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.concurrent.Worker.State;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import de.saxsys.javafx.test.service.ServiceWrapper;
+import de.saxsys.javafx.test.service.TestExecutors;
+
+/**
+ * The tracking is enabled by system properties which are read once, so it is tested in a fresh JVM.
+ */
+public class LeakTrackerTest {
+	
+	@Test(timeout = 60000)
+	public void testLeaksFailTheirTests() throws Exception {
+		ForkedJUnit fork = ForkedJUnit.run(Leaking.class, "-D" + LeakTracker.REACHABILITY_PROPERTY + "=true",
+				"-D" + LeakTracker.FAIL_PROPERTY + "=true");
+		String output = fork.getOutput();
+		assertFalse(output, fork.succeeded());
+		assertTrue(output, output.contains("Tests run: 4,  Failures: 2"));
+		assertTrue(output, output.contains("testLeakedListener(de.saxsys.javafx.test.LeakTrackerTest$Leaking) leaked 1 "
+				+ "objects:"));
+		assertTrue(output, output.contains("listener de.saxsys.javafx.test.service.ServiceMirror on "));
+		assertTrue(output, output.contains("testLeakedReachableObject(de.saxsys.javafx.test.LeakTrackerTest$Leaking) "
+				+ "leaked 1 objects:"));
+		assertTrue(output, output.contains("reachable de.saxsys.javafx.test.LeakTrackerTest$Leaking$Kept@"));
+		assertFalse(output, output.contains("testCleanInFxThread(de.saxsys.javafx.test.LeakTrackerTest$Leaking) leaked"));
+		assertFalse(output, output.contains("testCleanServiceCall(de.saxsys.javafx.test.LeakTrackerTest$Leaking) leaked"));
+	}
+	
+	/**
+	 * Runs in the fresh JVM.
+	 */
+	@RunWith(JfxRunner.class)
+	public static class Leaking {
+		
+		private static final List<Kept> KEPT = new ArrayList<>();
+		
+		@Test
+		@TestInJfxThread
+		public void testCleanInFxThread() throws Exception {
+			// the Service is still running at the end of the test, it is cancelled and awaited
+			ServiceToTest service = new ServiceToTest();
+			service.setExecutor(TestExecutors.sharedPool());
+			ServiceWrapper wrapper = new ServiceWrapper(service, true);
+			wrapper.startAsync();
+			wrapper.dispose();
+		}
+		
+		@Test
+		public void testCleanServiceCall() throws Exception {
+			ServiceWrapper wrapper = new ServiceWrapper(new ServiceToTest(), true);
+			wrapper.startAndWait(5000);
+			assertTrue(wrapper.getState() == State.SUCCEEDED);
+			wrapper.dispose();
+		}
+		
+		@Test
+		public void testLeakedListener() throws Exception {
+			// the live mirror is not disposed
+			new ServiceWrapper(new ServiceToTest(), true);
+		}
+		
+		@Test
+		public void testLeakedReachableObject() throws Exception {
+			Kept kept = new Kept();
+			LeakTracker.trackReachability(kept);
+			KEPT.add(kept);
+		}
+		
+		private static final class Kept {
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package de.saxsys.javafx.test;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+//Runs without a display with -Djfxrunner.headless=true (see HeadlessJfxTest)
+@RunWith(JfxRunner.class)
+@RunInParallel(threads = 2)
+public class ParallelJfxRunnerTest {
+	
+	/** Both tests without FX-thread have to reach the barrier at the same time. */
+	private static final CyclicBarrier BARRIER = new CyclicBarrier(2);
+	
+	@Test
+	public void testFirstRunsConcurrently() throws Exception {
+		Assert.assertFalse(Platform.isFxApplicationThread());
+		BARRIER.await(5, TimeUnit.SECONDS);
+	}
+	
+	@Test
+	public void testSecondRunsConcurrently() throws Exception {
+		Assert.assertFalse(Platform.isFxApplicationThread());
+		BARRIER.await(5, TimeUnit.SECONDS);
+	}
+	
+	@Test
+	@TestInJfxThread
+	public void testWithFXThread() throws Exception {
+		Assert.assertTrue(Platform.isFxApplicationThread());
+	}
+}
@@ -0,0 +1,43 @@
+package de.saxsys.javafx.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+public class ParallelSchedulerTest {
+	
+	@Test
+	public void testFinishedAwaitsAllTestsAfterAFailure() throws Exception {
+		ParallelScheduler scheduler = new ParallelScheduler(2);
+		CountDownLatch failed = new CountDownLatch(1);
+		AtomicBoolean slowTestFinished = new AtomicBoolean();
+		
+		scheduler.submit(() -> {
+			failed.countDown();
+			throw new IllegalStateException("first");
+		});
+		scheduler.submit(() -> {
+			try {
+				failed.await(5, TimeUnit.SECONDS);
+				Thread.sleep(200);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			slowTestFinished.set(true);
+		});
+		
+		try {
+			scheduler.finished();
+			fail("the failure of the first test expected");
+		} catch (RuntimeException e) {
+			assertEquals("first", e.getCause().getMessage());
+		}
+		assertTrue(slowTestFinished.get());
+	}
+}
@@ -0,0 +1,111 @@
+package de.saxsys.javafx.test;
+
+import static org.junit.Assert.assertEquals;
+
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+//Runs without a display with -Djfxrunner.headless=true (see HeadlessJfxTest)
+@RunWith(JfxRunner.class)
+public class StagePoolTest {
+	
+	/** Stage of the previous test, which has to be reused. */
+	private static Stage previousStage;
+	
+	/** Scene and root of the previous test. */
+	private static Scene previousScene;
+	
+	private static Pane previousRoot;
+	
+	@PooledStage
+	private Stage stage;
+	
+	@Test
+	@TestInJfxThread
+	public void testFirstGetsResetStage() throws Exception {
+		useStage();
+	}
+	
+	@Test
+	@TestInJfxThread
+	public void testSecondGetsResetStage() throws Exception {
+		useStage();
+	}
+	
+	@Test
+	@TestInJfxThread
+	public void testStateOfReturnedStageIsRestored() throws Exception {
+		String stylesheet = StagePoolTest.class.getResource("StagePoolTest.css").toExternalForm();
+		Stage own = new Stage();
+		Scene scene = new Scene(new StackPane(), 400, 300);
+		scene.getStylesheets().add(stylesheet);
+		own.setScene(scene);
+		own.setTitle("Own");
+		own.setResizable(false);
+		StagePool.release(own);
+		
+		Stage borrowed = StagePool.borrow();
+		Assert.assertSame(own, borrowed);
+		Pane root = (Pane) scene.getRoot();
+		root.getChildren().add(new Label("Test"));
+		scene.getStylesheets().clear();
+		borrowed.setTitle("Test");
+		borrowed.setResizable(true);
+		borrowed.setWidth(200);
+		StagePool.release(borrowed);
+		
+		borrowed = StagePool.borrow();
+		Assert.assertSame(own, borrowed);
+		Assert.assertSame(scene, borrowed.getScene());
+		// a root which was not created by the pool is kept
+		Assert.assertSame(root, scene.getRoot());
+		assertEquals(1, scene.getStylesheets().size());
+		assertEquals(stylesheet, scene.getStylesheets().get(0));
+		assertEquals("Own", borrowed.getTitle());
+		Assert.assertFalse(borrowed.isResizable());
+		assertEquals(400, borrowed.getWidth(), 0);
+		// not returned, so it does not change the stages of the other tests
+		borrowed.hide();
+	}
+	
+	private void useStage() {
+		if (previousStage != null) {
+			Assert.assertSame(previousStage, stage);
+			Assert.assertSame(previousScene, stage.getScene());
+			Assert.assertNotSame(previousRoot, stage.getScene().getRoot());
+		}
+		previousStage = stage;
+		previousScene = stage.getScene();
+		previousRoot = (Pane) stage.getScene().getRoot();
+		
+		Assert.assertTrue(stage.isShowing());
+		assertEquals(0, ((Pane) stage.getScene().getRoot()).getChildren().size());
+		assertEquals(0, stage.getScene().getStylesheets().size());
+		Assert.assertNull(stage.getTitle());
+		assertEquals(StagePool.WIDTH, stage.getWidth(), 0);
+		assertEquals(StagePool.HEIGHT, stage.getHeight(), 0);
+		Assert.assertTrue(stage.isResizable());
+		assertEquals(Modality.NONE, stage.getModality());
+		assertEquals(StageStyle.DECORATED, stage.getStyle());
+		
+		((Pane) stage.getScene().getRoot()).getChildren().add(new Label("Test"));
+		String stylesheet = StagePoolTest.class.getResource("StagePoolTest.css").toExternalForm();
+		stage.getScene().getStylesheets().add(stylesheet);
+		stage.setTitle("Test");
+		stage.setWidth(300);
+		stage.setHeight(200);
+		stage.setResizable(false);
+		assertEquals(300, stage.getWidth(), 0);
+		// a test may also show its own scene
+		stage.setScene(new Scene(new StackPane(), 100, 100));
+	}
+}
@@ -0,0 +1,74 @@
+package de.saxsys.javafx.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+
+public class TestShardFilterTest {
+	
+	private final TestTimings timings = timings("a", 100, "b", 60, "c", 50, "d", 10);
+	
+	@Test
+	public void testShardsAreBalancedByDuration() {
+		TestShardFilter first = new TestShardFilter(0, 2, timings);
+		TestShardFilter second = new TestShardFilter(1, 2, timings);
+		
+		// a (100) + d (10) against b (60) + c (50)
+		assertTrue(first.shouldRun(test("a")));
+		assertTrue(first.shouldRun(test("d")));
+		assertTrue(second.shouldRun(test("b")));
+		assertTrue(second.shouldRun(test("c")));
+		assertFalse(first.shouldRun(test("b")));
+	}
+	
+	@Test
+	public void testEveryTestRunsInExactlyOneShard() {
+		for (String name : Arrays.asList("a", "b", "c", "d", "unknown1", "unknown2")) {
+			int shards = 0;
+			for (int index = 0; index < 3; index++) {
+				if (new TestShardFilter(index, 3, timings).shouldRun(test(name))) {
+					shards++;
+				}
+			}
+			assertEquals(1, shards);
+		}
+	}
+	
+	@Test
+	public void testSlowestFirst() {
+		Description suite = Description.createSuiteDescription("Suite");
+		for (String name : Arrays.asList("c", "unknown", "a", "d", "b")) {
+			suite.addChild(test(name));
+		}
+		
+		List<Description> sorted = new ArrayList<>(suite.getChildren());
+		sorted.sort(new SlowestFirstSorter(timings));
+		
+		List<String> names = new ArrayList<>();
+		for (Description description : sorted) {
+			names.add(description.getMethodName());
+		}
+		assertEquals(Arrays.asList("unknown", "a", "b", "c", "d"), names);
+	}
+	
+	private static Description test(String name) {
+		return Description.createTestDescription("Tests", name);
+	}
+	
+	private static TestTimings timings(Object... durations) {
+		Map<String, Long> map = new HashMap<>();
+		for (int i = 0; i < durations.length; i += 2) {
+			map.put(TestTimings.key(test((String) durations[i])), ((Integer) durations[i + 1]).longValue());
+		}
+		return new TestTimings(map);
+	}
+}
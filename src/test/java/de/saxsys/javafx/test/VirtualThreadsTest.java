@@ -0,0 +1,110 @@
+package de.saxsys.javafx.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import javafx.application.Platform;
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import de.saxsys.javafx.test.service.ServiceWrapper;
+
+/**
+ * The virtual threads are enabled by a system property which is read once, so they are tested in a fresh JVM. On JVMs
+ * before Java 21 the runner has to fall back to platform threads.
+ */
+public class VirtualThreadsTest {
+	
+	@Test
+	public void testAvailableFromJava21() throws Exception {
+		assertEquals(javaVersion() >= 21, VirtualThreads.isAvailable());
+		assertFalse(VirtualThreads.isEnabled());
+	}
+	
+	@Test
+	public void testUnavailableFailsOnOldJvm() throws Exception {
+		if (VirtualThreads.isAvailable()) {
+			return;
+		}
+		try {
+			VirtualThreads.factory("test-");
+			fail("UnsupportedOperationException expected");
+		} catch (UnsupportedOperationException e) {
+			// platform threads have to be used
+		}
+		try {
+			VirtualThreads.newVirtualThreadPerTaskExecutor();
+			fail("UnsupportedOperationException expected");
+		} catch (UnsupportedOperationException e) {
+			// platform threads have to be used
+		}
+	}
+	
+	@Test(timeout = 60000)
+	public void testEnabledVirtualThreads() throws Exception {
+		ForkedJUnit fork = ForkedJUnit.run(Enabled.class, "-D" + VirtualThreads.PROPERTY + "=true");
+		String output = fork.getOutput();
+		assertTrue(output, fork.succeeded());
+		assertEquals(output, !VirtualThreads.isAvailable(), output.contains("-D" + VirtualThreads.PROPERTY
+				+ " is ignored, virtual threads need Java 21 or newer"));
+	}
+	
+	private static int javaVersion() {
+		String version = System.getProperty("java.specification.version");
+		// 1.8 before Java 9
+		return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+	}
+	
+	/**
+	 * Runs in the fresh JVM.
+	 */
+	@RunWith(JfxRunner.class)
+	@RunInParallel(threads = 2)
+	public static class Enabled {
+		
+		@Test
+		public void testRunsInVirtualThreadIfAvailable() throws Exception {
+			assertFalse(Platform.isFxApplicationThread());
+			assertEquals(VirtualThreads.isAvailable(), VirtualThreads.isEnabled());
+			Thread thread = Thread.currentThread();
+			assertEquals(VirtualThreads.isAvailable(), isVirtual(thread));
+			if (!VirtualThreads.isAvailable()) {
+				assertTrue(thread.getName(), thread.getName().startsWith("jfxrunner-parallel-"));
+				assertTrue(thread.isDaemon());
+			}
+		}
+		
+		@Test
+		public void testServiceRunsInVirtualThreadIfAvailable() throws Exception {
+			AtomicReference<Thread> worker = new AtomicReference<>();
+			ServiceWrapper wrapper = new ServiceWrapper(new Service<Void>() {
+				@Override
+				protected Task<Void> createTask() {
+					return new Task<Void>() {
+						@Override
+						protected Void call() throws Exception {
+							worker.set(Thread.currentThread());
+							return null;
+						}
+					};
+				}
+			});
+			wrapper.startAndWait(5000);
+			assertEquals(VirtualThreads.isAvailable(), isVirtual(worker.get()));
+		}
+		
+		private static boolean isVirtual(Thread thread) throws Exception {
+			if (!VirtualThreads.isAvailable()) {
+				return false;
+			}
+			return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+		}
+	}
+}